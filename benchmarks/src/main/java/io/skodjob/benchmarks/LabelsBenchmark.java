@@ -0,0 +1,95 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.benchmarks;
+
+import io.skodjob.MdGenerator;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteStatistics;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.TestMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of updating the labels description files with links to the test-cases covering them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LabelsBenchmark {
+
+    /**
+     * Total number of test-cases in the synthetic test tree
+     */
+    @Param({"10", "1000", "100000"})
+    public int methods;
+
+    private Path docsDir;
+    private String docsPath;
+    private LabelIndex labelIndex;
+    private LabelDescriptions labelDescriptions;
+
+    /**
+     * Writes labels description files and fills the label index with the synthetic test-cases
+     *
+     * @throws IOException during writing of the files
+     */
+    @Setup
+    public void setup() throws IOException {
+        docsDir = Files.createTempDirectory("labels-benchmark");
+        docsPath = docsDir + "/";
+        SyntheticTestTree.writeLabelDescriptions(docsDir.resolve(MdGenerator.LABELS));
+        labelDescriptions = LabelDescriptions.load(docsPath + MdGenerator.LABELS);
+
+        labelIndex = new LabelIndex();
+        for (ClassMetadata testClass : SyntheticTestTree.createClasses(methods)) {
+            String docFilePath = docsPath + SyntheticTestTree.docFilePath(testClass, ".md");
+            for (TestMetadata test : testClass.tests()) {
+                test.labels().forEach(label -> labelIndex.add(label, testClass.className(), test.methodName(), docFilePath));
+            }
+        }
+    }
+
+    /**
+     * Deletes the docs directory
+     *
+     * @throws IOException during deletion of the docs directory
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticTestTree.delete(docsDir);
+    }
+
+    /**
+     * Updates all labels description files
+     *
+     * @return statistics of the written files
+     */
+    @Benchmark
+    public WriteStatistics updateLinksInLabels() {
+        WriteStatistics statistics = new WriteStatistics();
+        MdGenerator.updateLinksInLabels(docsPath, labelIndex, labelDescriptions, statistics);
+        return statistics;
+    }
+}
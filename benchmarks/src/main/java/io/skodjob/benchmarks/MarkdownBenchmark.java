@@ -0,0 +1,109 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.benchmarks;
+
+import io.skodjob.FmfGenerator;
+import io.skodjob.MdGenerator;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.model.ClassMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Markdown and FMF generators rendering a whole synthetic test tree.
+ * The docs directory is kept between invocations, so apart from the first one, the benchmarks measure rendering of the
+ * documents and their comparison with already existing files, the same as regenerating docs of an unchanged project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownBenchmark {
+
+    /**
+     * Total number of test-cases in the synthetic test tree
+     */
+    @Param({"10", "1000", "100000"})
+    public int methods;
+
+    private List<ClassMetadata> classes;
+    private Path docsDir;
+    private LabelDescriptions labelDescriptions;
+
+    /**
+     * Generates the synthetic test tree and the docs directory with labels description files
+     *
+     * @throws IOException during creation of the docs directory
+     */
+    @Setup
+    public void setup() throws IOException {
+        classes = SyntheticTestTree.createClasses(methods);
+        docsDir = Files.createTempDirectory("md-benchmark");
+        SyntheticTestTree.writeLabelDescriptions(docsDir.resolve(MdGenerator.LABELS));
+        labelDescriptions = LabelDescriptions.load(docsDir.resolve(MdGenerator.LABELS).toString());
+    }
+
+    /**
+     * Deletes the docs directory
+     *
+     * @throws IOException during deletion of the docs directory
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticTestTree.delete(docsDir);
+    }
+
+    /**
+     * Generates Markdown documentation of all test-classes
+     *
+     * @param blackhole consumes the results of the generation
+     * @throws IOException during writing of the files
+     */
+    @Benchmark
+    public void generateMarkdown(Blackhole blackhole) throws IOException {
+        String docsPath = docsDir + "/";
+        LabelIndex labelIndex = new LabelIndex();
+
+        for (ClassMetadata testClass : classes) {
+            blackhole.consume(MdGenerator.generate(testClass, docsPath, SyntheticTestTree.docFilePath(testClass, ".md"), labelIndex, labelDescriptions));
+        }
+        blackhole.consume(labelIndex);
+    }
+
+    /**
+     * Generates FMF documentation of all test-classes
+     *
+     * @param blackhole consumes the results of the generation
+     * @throws IOException during writing of the files
+     */
+    @Benchmark
+    public void generateFmf(Blackhole blackhole) throws IOException {
+        String fmfPath = docsDir + "/fmf/";
+
+        for (ClassMetadata testClass : classes) {
+            blackhole.consume(FmfGenerator.generate(testClass, fmfPath + SyntheticTestTree.docFilePath(testClass, ".fmf")));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.benchmarks;
+
+import io.skodjob.common.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the discovery of test-classes inside a synthetic source tree
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SourceTreeBenchmark {
+
+    /**
+     * Total number of test-cases in the synthetic test tree
+     */
+    @Param({"10", "1000", "100000"})
+    public int methods;
+
+    private Path sourceDir;
+    private String testsPath;
+
+    /**
+     * Writes sources of the synthetic test tree
+     *
+     * @throws IOException during writing of the sources
+     */
+    @Setup
+    public void setup() throws IOException {
+        sourceDir = Files.createTempDirectory("source-tree-benchmark");
+        Path sourceRoot = sourceDir.resolve("src/test/java");
+        SyntheticTestTree.writeSources(sourceRoot, methods);
+        testsPath = sourceRoot + "/";
+    }
+
+    /**
+     * Deletes sources of the synthetic test tree
+     *
+     * @throws IOException during deletion of the sources
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticTestTree.delete(sourceDir);
+    }
+
+    /**
+     * Lists all test-classes with flat docs structure
+     *
+     * @return test-classes with their docs paths
+     */
+    @Benchmark
+    public Map<String, String> getTestClasses() {
+        return Utils.getTestClassesWithTheirPath(testsPath, false);
+    }
+
+    /**
+     * Lists all test-classes with docs structure following the packages
+     *
+     * @return test-classes with their docs paths
+     */
+    @Benchmark
+    public Map<String, String> getTestClassesWithDirs() {
+        return Utils.getTestClassesWithTheirPath(testsPath, true);
+    }
+}
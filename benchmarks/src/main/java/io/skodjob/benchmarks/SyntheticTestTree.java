@@ -0,0 +1,175 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.benchmarks;
+
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Generator of synthetic test trees used by the benchmarks.
+ * Test-cases are spread into test-classes with {@link #METHODS_PER_CLASS} methods each, and test-classes
+ * into packages with {@link #CLASSES_PER_PACKAGE} classes each, similar to real test suites.
+ */
+public class SyntheticTestTree {
+
+    /**
+     * Number of test-cases in each test-class
+     */
+    public static final int METHODS_PER_CLASS = 50;
+    /**
+     * Number of test-classes in each package
+     */
+    public static final int CLASSES_PER_PACKAGE = 20;
+    /**
+     * Number of distinct labels used by the test-cases
+     */
+    public static final int LABELS = 100;
+
+    private static final String PACKAGE_PREFIX = "io.skodjob.synthetic.package";
+    private static final int STEPS_PER_METHOD = 5;
+    private static final int LABELS_PER_METHOD = 3;
+
+    /**
+     * Constructor
+     */
+    private SyntheticTestTree() {
+        // constructor
+    }
+
+    /**
+     * Creates documentation of test-classes containing {@param methods} test-cases in total
+     *
+     * @param methods total number of test-cases
+     * @return documentation of the test-classes
+     */
+    public static List<ClassMetadata> createClasses(int methods) {
+        List<ClassMetadata> classes = new ArrayList<>();
+
+        for (int classIndex = 0; classIndex * METHODS_PER_CLASS < methods; classIndex++) {
+            int classMethods = Math.min(METHODS_PER_CLASS, methods - classIndex * METHODS_PER_CLASS);
+            classes.add(createClass(classIndex, classMethods));
+        }
+
+        return classes;
+    }
+
+    /**
+     * Returns path of the documentation file of the test-class, relative to the docs directory
+     *
+     * @param testClass documentation of the test-class
+     * @param suffix    suffix of the documentation file
+     * @return relative path of the documentation file
+     */
+    public static String docFilePath(ClassMetadata testClass, String suffix) {
+        return testClass.className().replace('.', '/') + suffix;
+    }
+
+    /**
+     * Writes Java sources of test-classes containing {@param methods} test-cases in total into {@param sourceRoot}
+     *
+     * @param sourceRoot directory, in which the package directories are created
+     * @param methods    total number of test-cases
+     * @throws IOException during writing of the files
+     */
+    public static void writeSources(Path sourceRoot, int methods) throws IOException {
+        for (ClassMetadata testClass : createClasses(methods)) {
+            Path source = sourceRoot.resolve(docFilePath(testClass, ".java"));
+            Files.createDirectories(source.getParent());
+
+            StringBuilder content = new StringBuilder()
+                .append("package ").append(testClass.className(), 0, testClass.className().lastIndexOf('.')).append(";\n\n")
+                .append("public class ").append(testClass.simpleName()).append(" {\n");
+            for (TestMetadata test : testClass.tests()) {
+                content.append("    @TestDoc(description = @Desc(\"").append(test.description()).append("\"))\n")
+                    .append("    void ").append(test.methodName()).append("() {\n    }\n\n");
+            }
+            content.append("}\n");
+
+            Files.writeString(source, content);
+        }
+    }
+
+    /**
+     * Writes description files of all labels used by the synthetic test-cases into {@param labelsDir}
+     *
+     * @param labelsDir directory with labels description files
+     * @throws IOException during writing of the files
+     */
+    public static void writeLabelDescriptions(Path labelsDir) throws IOException {
+        Files.createDirectories(labelsDir);
+
+        for (int i = 0; i < LABELS; i++) {
+            Files.writeString(labelsDir.resolve(label(i) + ".md"), "# " + label(i) + "\n\nDescription of the label.\n");
+        }
+    }
+
+    /**
+     * Deletes the {@param directory} with all its content
+     *
+     * @param directory directory to be deleted
+     * @throws IOException during deletion of the files
+     */
+    public static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Creates steps of a single test-case
+     *
+     * @return list of steps
+     */
+    public static List<StepMetadata> createSteps() {
+        List<StepMetadata> steps = new ArrayList<>(STEPS_PER_METHOD);
+
+        for (int i = 0; i < STEPS_PER_METHOD; i++) {
+            steps.add(new StepMetadata("Do the step number " + i, "Step number " + i + " is done"));
+        }
+
+        return steps;
+    }
+
+    private static ClassMetadata createClass(int classIndex, int methods) {
+        String className = PACKAGE_PREFIX + (classIndex / CLASSES_PER_PACKAGE) + ".SyntheticST" + classIndex;
+        ContactMetadata contact = new ContactMetadata("Jakub Stejskal", "ja@kub.io");
+
+        List<TestMetadata> tests = new ArrayList<>(methods);
+        for (int i = 0; i < methods; i++) {
+            List<String> labels = new ArrayList<>(LABELS_PER_METHOD);
+            for (int j = 0; j < LABELS_PER_METHOD; j++) {
+                labels.add(label(classIndex + i + j));
+            }
+            tests.add(new TestMetadata("testMethod" + i, "Test checking that the feature number " + i + " works as expected",
+                contact, createSteps(), labels));
+        }
+
+        SuiteMetadata suite = new SuiteMetadata("Test suite number " + classIndex, contact, createSteps(), createSteps(),
+            List.of(label(classIndex)));
+
+        return new ClassMetadata(className, ClassMetadata.simpleNameOf(className), suite, tests);
+    }
+
+    private static String label(int index) {
+        return "label-" + (index % LABELS);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.benchmarks;
+
+import io.skodjob.markdown.Table;
+import io.skodjob.model.StepMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Markdown table creation used for steps of test-cases and test-suites
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableBenchmark {
+
+    private static final List<String> HEADERS = List.of("Step", "Action", "Result");
+
+    private List<StepMetadata> steps;
+    private List<String> rows;
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * Creates steps and rows of the table
+     */
+    @Setup
+    public void setup() {
+        steps = SyntheticTestTree.createSteps();
+        rows = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            rows.add(Table.createRow((i + 1) + ".", steps.get(i).value(), steps.get(i).expected()));
+        }
+    }
+
+    /**
+     * Creates single row of the table
+     *
+     * @return created row
+     */
+    @Benchmark
+    public String createRow() {
+        StepMetadata step = steps.get(0);
+        return Table.createRow("1.", step.value(), step.expected());
+    }
+
+    /**
+     * Creates the whole table from already created rows
+     *
+     * @return created table
+     */
+    @Benchmark
+    public String createTable() {
+        return Table.createTable(HEADERS, rows);
+    }
+
+    /**
+     * Appends the whole table of steps into a reused buffer, as it is done when rendering the Markdown documentation
+     *
+     * @return length of the appended table
+     */
+    @Benchmark
+    public int appendTable() {
+        StringBuilder table = buffer;
+        table.setLength(0);
+        Table.appendHeader(table, HEADERS);
+        for (int i = 0; i < steps.size(); i++) {
+            Table.appendRow(table, (i + 1) + ".", steps.get(i).value(), steps.get(i).expected());
+        }
+        return table.length();
+    }
+}
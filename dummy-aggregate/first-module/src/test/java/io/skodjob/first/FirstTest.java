@@ -0,0 +1,35 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.first;
+
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Label;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import org.junit.jupiter.api.Test;
+
+@SuiteDoc(
+    description = @Desc("Test suite of the first module"),
+    labels = {
+        @Label(value = "regression")
+    }
+)
+class FirstTest {
+
+    @TestDoc(
+        description = @Desc("Test from the first module"),
+        steps = {
+            @Step(value = "Create object instance", expected = "Instance of an object is created")
+        },
+        labels = {
+            @Label(value = "default")
+        }
+    )
+    @Test
+    void testFirstModule() {
+
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.second;
+
+import io.skodjob.annotations.Desc;
+import io.skodjob.annotations.Label;
+import io.skodjob.annotations.TestDoc;
+import org.junit.jupiter.api.Test;
+
+class SecondTest {
+
+    @TestDoc(
+        description = @Desc("Test from the second module"),
+        labels = {
+            @Label(value = "default"),
+            @Label(value = "regression")
+        }
+    )
+    @Test
+    void testSecondModule() {
+
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.second;
+
+import org.junit.jupiter.api.Test;
+
+// Test-class without documentation is scanned, but it doesn't appear in the generated docs
+class UndocumentedTest {
+
+    @Test
+    void testWithoutDocs() {
+
+    }
+}
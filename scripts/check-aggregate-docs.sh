@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+
+# Function to compare two files
+compare_files() {
+    file1=$1
+    file2=$2
+
+    if cmp -s "$file1" "$file2"; then
+        echo "Files $file1 and $file2 are identical."
+    else
+        echo "Files $file1 and $file2 differ."
+        diff "$file1" "$file2"
+        exit 1
+    fi
+}
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" >/dev/null 2>&1 && pwd)"
+
+# Get module name from argument
+MODULE_NAME="$1"
+if [ -z "$MODULE_NAME" ]; then
+    echo "Usage: $0 <module-name>"
+    exit 1
+fi
+
+# Base directories
+EXPECTED_DIR="$SCRIPT_DIR/../docs/expected/aggregate"
+ACTUAL_DIR="$SCRIPT_DIR/../$MODULE_NAME/target/test-docs/actual/aggregate"
+
+# Only test-classes of the modules of the aggregating project are scanned, not the rest of the reactor
+SCANNED_CLASSES=$(grep -o '"classes":[0-9]*' "$ACTUAL_DIR/metrics.json")
+if [ "$SCANNED_CLASSES" != '"classes":3' ]; then
+    echo "Expected 3 scanned test-classes, but metrics contain $SCANNED_CLASSES."
+    exit 1
+fi
+echo "Scanned test-classes: $SCANNED_CLASSES"
+
+grep -o '"className":"[^"]*"' "$ACTUAL_DIR/metadata-index.json" | cut -d '"' -f 4 > "$ACTUAL_DIR/classes.txt"
+compare_files "$ACTUAL_DIR/classes.txt" "$EXPECTED_DIR/classes.txt"
+
+compare_files "$ACTUAL_DIR/io/skodjob/first/FirstTest.md" "$EXPECTED_DIR/io/skodjob/first/FirstTest.md"
+compare_files "$ACTUAL_DIR/io/skodjob/second/SecondTest.md" "$EXPECTED_DIR/io/skodjob/second/SecondTest.md"
+compare_files "$ACTUAL_DIR/labels/default.md" "$EXPECTED_DIR/labels/default.md"
+compare_files "$ACTUAL_DIR/labels/regression.md" "$EXPECTED_DIR/labels/regression.md"
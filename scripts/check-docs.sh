@@ -44,6 +44,21 @@ OPTION_3_MD="io.skodjob.DummyTest.md"
 OPTION_4="option4"
 OPTION_4_MD="io/skodjob/DummyTest.md"
 
+OPTION_5="option5"
+OPTION_5_MD="md/io/skodjob/DummyTest.md"
+OPTION_5_FMF="fmf/io/skodjob/DummyTest.fmf"
+
+# processor scanner has to generate the same docs as reflection scanner in option1
+OPTION_7="option7"
+
+OPTION_6="option6"
+OPTION_6_MD="md/io/skodjob/DummyTest.md"
+OPTION_6_FMF="fmf/io/skodjob/DummyTest.fmf"
+OPTION_6_INDEX="metadata-index.json"
+OPTION_6_SELECTION="selection/default.txt"
+OPTION_6_SHARD1="selection/shards/default/shard-1.txt"
+OPTION_6_SHARD2="selection/shards/default/shard-2.txt"
+
 compare_files "$ACTUAL_DIR/$OPTION_1/$OPTION_1_MD" "$EXPECTED_DIR/$OPTION_1/$OPTION_1_MD"
 compare_files "$ACTUAL_DIR/$OPTION_1/$OPTION_1_FMF" "$EXPECTED_DIR/$OPTION_1/$OPTION_1_FMF"
 compare_files "$ACTUAL_DIR/$OPTION_1/$LABEL1" "$EXPECTED_DIR/$OPTION_1/$LABEL1"
@@ -62,3 +77,21 @@ compare_files "$ACTUAL_DIR/$OPTION_4/$OPTION_4_MD" "$EXPECTED_DIR/$OPTION_4/$OPT
 compare_files "$ACTUAL_DIR/$OPTION_4/$LABEL1" "$EXPECTED_DIR/$OPTION_4/$LABEL1"
 compare_files "$ACTUAL_DIR/$OPTION_4/$LABEL2" "$EXPECTED_DIR/$OPTION_4/$LABEL2"
 
+compare_files "$ACTUAL_DIR/$OPTION_5/$OPTION_5_MD" "$EXPECTED_DIR/$OPTION_5/$OPTION_5_MD"
+compare_files "$ACTUAL_DIR/$OPTION_5/$OPTION_5_FMF" "$EXPECTED_DIR/$OPTION_5/$OPTION_5_FMF"
+compare_files "$ACTUAL_DIR/$OPTION_5/$LABEL1" "$EXPECTED_DIR/$OPTION_5/$LABEL1"
+compare_files "$ACTUAL_DIR/$OPTION_5/$LABEL2" "$EXPECTED_DIR/$OPTION_5/$LABEL2"
+
+compare_files "$ACTUAL_DIR/$OPTION_7/$OPTION_1_MD" "$EXPECTED_DIR/$OPTION_1/$OPTION_1_MD"
+compare_files "$ACTUAL_DIR/$OPTION_7/$OPTION_1_FMF" "$EXPECTED_DIR/$OPTION_1/$OPTION_1_FMF"
+compare_files "$ACTUAL_DIR/$OPTION_7/$LABEL1" "$EXPECTED_DIR/$OPTION_1/$LABEL1"
+compare_files "$ACTUAL_DIR/$OPTION_7/$LABEL2" "$EXPECTED_DIR/$OPTION_1/$LABEL2"
+
+compare_files "$ACTUAL_DIR/$OPTION_6/$OPTION_6_MD" "$EXPECTED_DIR/$OPTION_6/$OPTION_6_MD"
+compare_files "$ACTUAL_DIR/$OPTION_6/$OPTION_6_FMF" "$EXPECTED_DIR/$OPTION_6/$OPTION_6_FMF"
+compare_files "$ACTUAL_DIR/$OPTION_6/$LABEL1" "$EXPECTED_DIR/$OPTION_6/$LABEL1"
+compare_files "$ACTUAL_DIR/$OPTION_6/$LABEL2" "$EXPECTED_DIR/$OPTION_6/$LABEL2"
+compare_files "$ACTUAL_DIR/$OPTION_6/$OPTION_6_INDEX" "$EXPECTED_DIR/$OPTION_6/$OPTION_6_INDEX"
+compare_files "$ACTUAL_DIR/$OPTION_6/$OPTION_6_SELECTION" "$EXPECTED_DIR/$OPTION_6/$OPTION_6_SELECTION"
+compare_files "$ACTUAL_DIR/$OPTION_6/$OPTION_6_SHARD1" "$EXPECTED_DIR/$OPTION_6/$OPTION_6_SHARD1"
+compare_files "$ACTUAL_DIR/$OPTION_6/$OPTION_6_SHARD2" "$EXPECTED_DIR/$OPTION_6/$OPTION_6_SHARD2"
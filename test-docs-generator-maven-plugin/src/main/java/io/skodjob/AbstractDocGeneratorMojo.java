@@ -0,0 +1,890 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import io.skodjob.common.BoundedExecutor;
+import io.skodjob.common.ClasspathCache;
+import io.skodjob.common.GenerationManifest;
+import io.skodjob.common.GenerationMetrics;
+import io.skodjob.common.JarDiscovery;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.PackageIndexClassLoader;
+import io.skodjob.common.Utils;
+import io.skodjob.common.WriteResult;
+import io.skodjob.common.WriteStatistics;
+import io.skodjob.index.MetadataIndexReader;
+import io.skodjob.index.MetadataIndexWriter;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.renderer.DocRenderer;
+import io.skodjob.scanner.BytecodeScanner;
+import io.skodjob.scanner.MetadataScanner;
+import io.skodjob.scanner.ProcessorScanner;
+import io.skodjob.scanner.ReflectionScanner;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.eclipse.aether.RepositorySystem;
+
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Base of the test-docs-generator goals, which generates documentation of the test-classes found by the particular
+ * goal - loads the test-classes, renders their docs in parallel, and updates labels files with links to all
+ * documented test-cases at once.
+ */
+public abstract class AbstractDocGeneratorMojo extends AbstractMojo {
+
+    private static final int SLOWEST_CLASSES_IN_LOG = 5;
+    private static final int SLOWEST_CLASSES_IN_REPORT = 20;
+    private static final String CLASSPATH_CACHE_FILE = "dependency-classpath.txt";
+    private static final String LIBRARY_CACHE_FILE = "library-classpath-%s-%s.txt";
+    private static final String PACKAGE_INDEX_CACHE_FILE = "package-index-%s.txt";
+    private static final int IN_FLIGHT_CLASSES_PER_THREAD = 4;
+
+    /**
+     * Constructor
+     */
+    protected AbstractDocGeneratorMojo() {
+        // constructor
+    }
+
+    /**
+     * Whether project dependencies should be added to the class path
+     */
+    @Parameter(property = "includeDependencies", defaultValue = "false", required = false, readonly = false)
+    boolean includeDependencies;
+
+    /**
+     * Directory path where class path libraries can be found
+     */
+    @Parameter(property = "libraryPath", defaultValue = "${project.build.directory}", required = false, readonly = false)
+    File libraryPath;
+
+    /**
+     * Glob patterns (relative to {@link #libraryPath}) of jar files, which are added to the class path,
+     * defaults to all jar files
+     */
+    @Parameter(property = "libraryIncludes", required = false, readonly = false)
+    List<String> libraryIncludes;
+
+    /**
+     * Glob patterns (relative to {@link #libraryPath}) of files and directories, which are not searched for jar files,
+     * defaults to directories of the build directory without libraries, f.e. {@code classes} or {@code surefire-reports}
+     */
+    @Parameter(property = "libraryExcludes", required = false, readonly = false)
+    List<String> libraryExcludes;
+
+    /**
+     * Maximal depth of the directories inside {@link #libraryPath} searched for jar files,
+     * 0 for only the jar files directly in the {@link #libraryPath}
+     */
+    @Parameter(property = "libraryDepth", defaultValue = "10", required = false, readonly = false)
+    int libraryDepth;
+
+    /**
+     * Number of test-classes loaded by a single class loader of the reflection scanner. Each batch of test-classes
+     * is loaded by a new class loader, which is dropped once the batch is read, so the Metaspace stays bounded
+     * no matter how many test-classes are documented. Defaults to 0, which loads all test-classes by one class loader.
+     */
+    @Parameter(property = "classLoaderBatchSize", defaultValue = "0", required = false, readonly = false)
+    int classLoaderBatchSize;
+
+    /**
+     * Glob patterns of files and directories inside the scanned tests paths, which should not be considered for documentation,
+     * f.e. {@code **}{@code /AbstractST.java}
+     */
+    @Parameter(property = "excludes", required = false, readonly = false)
+    List<String> excludes;
+
+    /**
+     * Jar files with compiled test-classes (f.e. test-jar artifacts), which are documented in addition to the test-classes
+     * of the project. Test-classes are read directly from the jar files, without unpacking them.
+     */
+    @Parameter(property = "testJars", required = false, readonly = false)
+    List<File> testJars;
+
+    /**
+     * Coordinates of the test-jar artifacts, which are resolved and documented the same way as {@link #testJars},
+     * either {@code groupId:artifactId:version} for the artifact with {@code tests} classifier,
+     * or {@code groupId:artifactId:extension:classifier:version}
+     */
+    @Parameter(property = "testJarArtifacts", required = false, readonly = false)
+    List<String> testJarArtifacts;
+
+    /**
+     * {@link #testJars} together with the resolved {@link #testJarArtifacts}
+     */
+    List<Path> testJarPaths = List.of();
+
+    /**
+     * Path where the test documentation should be generated to
+     */
+    @Parameter(property = "docsPath", defaultValue = "./test-docs", required = true, readonly = false)
+    String docsPath;
+
+    /**
+     * Backend used for reading the annotations of test-classes:
+     * <ul><li>reflection - test-classes are loaded using class loader containing all jars from {@link #libraryPath}
+     * and project dependencies (in case of {@link #includeDependencies})</li>
+     * <li>bytecode - annotations are read directly from the class files in the project output directories,
+     * test-classes are never loaded and no class path is needed</li>
+     * <li>processor - documentation written by {@link io.skodjob.processor.MetadataProcessor} during the compilation is read from the project
+     * output directories, neither the class files are parsed nor the test-classes are loaded</li></ul>
+     */
+    @Parameter(property = "scanner", defaultValue = "reflection", required = false, readonly = false)
+    String scanner;
+
+    /**
+     * Whether it should generate subfolders for packages or not
+     */
+    @Parameter(property = "generateDirs", defaultValue = "false", required = false, readonly = false)
+    boolean generateDirs;
+
+    /**
+     * Option for generating fmf
+     */
+    @Parameter(property = "generateFmf", defaultValue = "false", readonly = false)
+    boolean generateFmf;
+
+    /**
+     * Number of worker threads used for loading the test-classes and generating their documentation.
+     * Accepts either plain number of threads, or number suffixed with "C" (f.e. "1C"), which is multiplied
+     * by the number of available processors - same as Surefire's forkCount
+     */
+    @Parameter(property = "threads", defaultValue = "1", required = false, readonly = false)
+    String threads;
+
+    /**
+     * Whether only test-classes changed since the previous run should be generated.
+     * Hashes of the test-classes are stored in a manifest inside {@link #manifestDirectory}, docs of unchanged
+     * test-classes are kept as they are and docs of removed test-classes are deleted.
+     */
+    @Parameter(property = "incremental", defaultValue = "false", required = false, readonly = false)
+    boolean incremental;
+
+    /**
+     * Directory where the manifest for incremental generation and the cached dependency classpath are stored
+     */
+    @Parameter(property = "manifestDirectory", defaultValue = "${project.build.directory}/test-docs-generator", required = false, readonly = false)
+    File manifestDirectory;
+
+    /**
+     * File where metrics of the generation (time spent in each phase, counts, and the slowest test-classes) are written
+     * in JSON format
+     */
+    @Parameter(property = "metricsFile", defaultValue = "${project.build.directory}/test-docs-metrics.json", required = false, readonly = false)
+    File metricsFile;
+
+    /**
+     * Whether index of all test-classes documentation should be generated into {@link #docsPath} in JSON
+     * ({@value MetadataIndexWriter#JSON_FILE}) and binary ({@value MetadataIndexWriter#BINARY_FILE}) format
+     */
+    @Parameter(property = "generateIndex", defaultValue = "false", required = false, readonly = false)
+    boolean generateIndex;
+
+    /**
+     * Whether lists of test-cases covering each label should be generated into {@link #docsPath}, in format
+     * accepted by Surefire's {@code includesFile}
+     */
+    @Parameter(property = "generateSelection", defaultValue = "false", required = false, readonly = false)
+    boolean generateSelection;
+
+    /**
+     * Number of shards, into which test-cases of each label are split when {@link #generateSelection} is enabled,
+     * 0 or 1 for no shards
+     */
+    @Parameter(property = "shards", defaultValue = "0", required = false, readonly = false)
+    int shards;
+
+    /**
+     * Properties file with weights (f.e. durations) of test-cases ({@code FQCN#method}) or test-classes ({@code FQCN})
+     * used for balancing of the {@link #shards}. Test-cases without weight get the average weight.
+     */
+    @Parameter(property = "shardWeights", required = false, readonly = false)
+    File shardWeights;
+
+    /**
+     * Pointer to Maven project
+     * Defaults to current project
+     */
+    @Parameter(defaultValue = "${project}", readonly = true)
+    MavenProject project;
+
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    MavenSession session;
+
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
+    MojoExecution mojoExecution;
+
+    @Inject
+    DependencyGraphBuilder dependencyGraphBuilder;
+
+    @Inject
+    RepositorySystem repositorySystem;
+
+    /**
+     * Lists all test-classes, which should be documented
+     *
+     * @param excludes glob patterns of the files and directories, which should not be documented
+     * @return map with path of the documentation file (without suffix) as a key, and name of the test-class as value
+     */
+    protected abstract Map<String, String> findTestClasses(List<String> excludes);
+
+    /**
+     * Returns projects containing the documented test-classes, their output directories and dependencies are used
+     * for loading of the test-classes
+     *
+     * @return documented projects
+     */
+    protected abstract List<MavenProject> getDocumentedProjects();
+
+    /**
+     * Returns directories, in which the jar files are added to the class path of the test-classes
+     *
+     * @return directories with libraries
+     */
+    protected List<File> getLibraryPaths() {
+        return List.of(libraryPath);
+    }
+
+    /**
+     * Method for the execution of the test-docs-generator Maven plugin
+     * Generates documentation of test-cases found by {@link #findTestClasses(List)} into {@link #docsPath}
+     */
+    @Override
+    public void execute() throws MojoExecutionException {
+
+        getLog().info("Starting generator");
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        // Ensure that docsPath ends with /
+        if (!docsPath.endsWith("/")) {
+            docsPath += "/";
+        }
+
+        int threadCount = parseThreads();
+        getLog().debug("Generating documentation using %d thread(s)".formatted(threadCount));
+
+        // Sort the classes, so the classes are always processed (and errors reported) in the same order
+        long scanStart = System.nanoTime();
+        testJarPaths = resolveTestJars();
+        Map<String, String> testClasses = listTestClasses();
+        metrics.record(GenerationMetrics.Phase.FILE_SCAN, scanStart);
+        metrics.setClasses(testClasses.size());
+
+        // Label index lives only for this execution, so nothing is kept between builds in long-running Maven daemons
+        LabelIndex labelIndex = new LabelIndex();
+        WriteStatistics statistics = metrics.getWriteStatistics();
+        // labels directory is listed only once, all generated docs check existence of the description files in memory
+        LabelDescriptions labelDescriptions = LabelDescriptions.load(docsPath + MdGenerator.LABELS);
+        List<DocRenderer> renderers = createRenderers(labelDescriptions);
+        Path manifestFile = manifestDirectory.toPath().resolve("manifest-" + mojoExecution.getExecutionId() + ".yaml");
+        GenerationManifest manifest = incremental ? GenerationManifest.load(manifestFile, computeConfigurationHash(labelDescriptions)) : null;
+        // documentation of all test-classes for the index, sorted by class name so the index doesn't depend on the threads
+        Map<String, ClassMetadata> indexedClasses = generateIndex ? new ConcurrentSkipListMap<>() : null;
+        Map<String, ClassMetadata> previousIndex = generateIndex && manifest != null ? loadPreviousIndex() : null;
+
+        // Only a few test-classes per thread are in flight at once, so metadata of the test-classes is released right after
+        // they are rendered, and only compact label references are kept until the labels files are updated
+        try (MetadataScanner metadataScanner = createScanner(metrics);
+             BoundedExecutor executor = new BoundedExecutor(threadCount, threadCount * IN_FLIGHT_CLASSES_PER_THREAD)) {
+            for (var entry : testClasses.entrySet()) {
+                executor.submit(() -> generate(metadataScanner, entry.getKey(), entry.getValue(), labelIndex, renderers, manifest,
+                    indexedClasses, previousIndex, metrics));
+            }
+
+            executor.awaitAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Failed to generate test documentation", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Generation of test documentation was interrupted", e);
+        }
+
+        if (manifest != null) {
+            deleteDocsOfRemovedClasses(manifest, new HashSet<>(testClasses.values()), statistics);
+            saveManifest(manifest, manifestFile);
+        }
+
+        if (indexedClasses != null) {
+            writeIndex(indexedClasses.values(), metrics);
+        }
+
+        long labelsStart = System.nanoTime();
+        logLabelFiles(MdGenerator.updateLinksInLabels(docsPath, labelIndex, labelDescriptions, statistics));
+        metrics.record(GenerationMetrics.Phase.LABEL_LINKING, labelsStart);
+        metrics.setLabels(labelIndex.getLabels().size());
+
+        if (generateSelection) {
+            generateSelection(labelIndex, metrics);
+        }
+
+        reportMetrics(metrics);
+        afterGeneration(testClasses, labelIndex, labelDescriptions, indexedClasses);
+        getLog().info("Done");
+    }
+
+    /**
+     * Logs results of updating the label files, label files with the same content are not reported
+     *
+     * @param results path of each label file with result of its update
+     */
+    void logLabelFiles(Map<String, WriteResult> results) {
+        results.forEach((labelsFile, result) -> {
+            switch (result) {
+                case WRITTEN -> getLog().info("Content of %s updated successfully!".formatted(labelsFile));
+                case EMPTY -> getLog().info("Label file %s doesn't exists. Skipping it.".formatted(labelsFile));
+                case UNCHANGED -> {
+                    // label file is up-to-date
+                }
+            }
+        });
+    }
+
+    /**
+     * Called once documentation of all test-classes is generated and labels files are updated
+     *
+     * @param testClasses       documented test-classes, path of the documentation file (without suffix) as a key
+     * @param labelIndex        labels and test-cases covering them
+     * @param labelDescriptions label description files found in the docs directory
+     * @param indexedClasses    documentation of the test-classes written into the index by their names,
+     *                          null in case that the index is not generated
+     * @throws MojoExecutionException in case of failure
+     */
+    void afterGeneration(Map<String, String> testClasses, LabelIndex labelIndex, LabelDescriptions labelDescriptions,
+                         Map<String, ClassMetadata> indexedClasses) throws MojoExecutionException {
+        // nothing to do by default
+    }
+
+    /**
+     * Parses the {@link #threads} parameter into the number of worker threads
+     *
+     * @return number of worker threads
+     * @throws MojoExecutionException in case that the value of the parameter is not valid
+     */
+    private int parseThreads() throws MojoExecutionException {
+        try {
+            return Utils.parseThreadCount(threads);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid value of threads parameter: " + threads, e);
+        }
+    }
+
+    /**
+     * Creates the scanner reading documentation of the test-classes based on the {@link #scanner} parameter.
+     * In case of reflection, the class path for loading of the test-classes is assembled as well.
+     *
+     * @param metrics metrics of the current run
+     * @return scanner of the test-classes
+     * @throws MojoExecutionException in case that the scanner is unknown, or the class path cannot be assembled
+     */
+    MetadataScanner createScanner(GenerationMetrics metrics) throws MojoExecutionException {
+        return switch (scanner.toLowerCase(Locale.ROOT)) {
+            case "reflection" -> createReflectionScanner(metrics);
+            case "bytecode" -> new BytecodeScanner(getScanRoots());
+            case "processor" -> createProcessorScanner();
+            default -> throw new MojoExecutionException("Unknown scanner: %s, supported are reflection, bytecode and processor".formatted(scanner));
+        };
+    }
+
+    private MetadataScanner createReflectionScanner(GenerationMetrics metrics) throws MojoExecutionException {
+        Supplier<PackageIndexClassLoader> loaders = createClassLoaderFactory(metrics);
+        return classLoaderBatchSize > 0 ? new ReflectionScanner(loaders, classLoaderBatchSize) : new ReflectionScanner(loaders.get());
+    }
+
+    private MetadataScanner createProcessorScanner() throws MojoExecutionException {
+        List<Path> directories = getScanRoots();
+        boolean processed;
+        try {
+            processed = ProcessorScanner.isProcessed(directories);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot read test-classes from %s".formatted(directories), e);
+        }
+        if (!processed) {
+            getLog().warn(("No documentation written by the annotation processor was found in %s, make sure that the plugin "
+                + "is on the test compile class path, or in annotationProcessorPaths of maven-compiler-plugin").formatted(directories));
+        }
+        return new ProcessorScanner(directories);
+    }
+
+    /**
+     * Returns output directories of all documented projects followed by the {@link #testJars} and the resolved
+     * {@link #testJarArtifacts}, test-classes are looked up in this order
+     *
+     * @return output directories and test-jar files
+     */
+    private List<Path> getScanRoots() {
+        List<Path> roots = new ArrayList<>(getOutputDirectories().stream().map(File::toPath).toList());
+        roots.addAll(testJarPaths);
+        return roots;
+    }
+
+    /**
+     * Returns test output and output directories of all documented projects, test-classes are looked up in this order
+     *
+     * @return output directories
+     */
+    private List<File> getOutputDirectories() {
+        List<File> directories = new ArrayList<>();
+
+        for (MavenProject documentedProject : getDocumentedProjects()) {
+            directories.add(new File(documentedProject.getBuild().getTestOutputDirectory()));
+            directories.add(new File(documentedProject.getBuild().getOutputDirectory()));
+        }
+
+        return directories;
+    }
+
+    /**
+     * Assembles class path with test-classes and all of their dependencies, and returns factory of the class loaders
+     * with this class path. Packages of the jar files are indexed (and cached inside {@link #manifestDirectory} for each execution) once,
+     * so the jar files are opened only when needed and new class loaders are cheap to create.
+     *
+     * @param metrics metrics of the current run, updated with time spent on the classpath assembly
+     * @return factory of the class loaders for loading of test-classes
+     * @throws MojoExecutionException in case that the dependencies cannot be resolved
+     */
+    private Supplier<PackageIndexClassLoader> createClassLoaderFactory(GenerationMetrics metrics) throws MojoExecutionException {
+        long start = System.nanoTime();
+        long dependencyResolution = 0;
+        Set<URI> classpath = new TreeSet<>();
+
+        // Add target/test-classes and target/classes of all documented projects
+        getScanRoots().forEach(root -> classpath.add(root.toUri()));
+
+        // Add all jar files in target lib
+        addJarFilesToClassPath(classpath);
+
+        if (includeDependencies) {
+            // Add project dependencies
+            long dependencyStart = System.nanoTime();
+            addDependenciesToClassPath(classpath);
+            dependencyResolution = metrics.record(GenerationMetrics.Phase.DEPENDENCY_RESOLUTION, dependencyStart);
+        }
+
+        getLog().debug("Loaded files in classpath:");
+        for (URI uri : classpath) {
+            getLog().debug(uri.getPath());
+        }
+
+        List<Path> entries = classpath.stream().map(Path::of).toList();
+        Map<Path, Set<String>> packages;
+        try {
+            packages = PackageIndexClassLoader.indexJars(entries.stream().filter(Files::isRegularFile).toList(),
+                manifestDirectory.toPath().resolve(PACKAGE_INDEX_CACHE_FILE.formatted(mojoExecution.getExecutionId())));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot index packages of the class path", e);
+        }
+
+        // time of the dependency resolution is reported separately
+        metrics.record(GenerationMetrics.Phase.CLASSPATH_ASSEMBLY, start + dependencyResolution);
+
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        return () -> new PackageIndexClassLoader(entries, packages, parent);
+    }
+
+    void generate(MetadataScanner metadataScanner, String filename, String className, LabelIndex labelIndex,
+                  List<DocRenderer> renderers, GenerationManifest manifest, Map<String, ClassMetadata> indexedClasses,
+                  Map<String, ClassMetadata> previousIndex, GenerationMetrics metrics) {
+        String hash = manifest != null ? hashTestClass(className) : null;
+        // unchanged class can be skipped only when its documentation can be taken from the previous index,
+        // empty classes are not in the index, so the manifest alone is enough for them
+        boolean indexed = previousIndex == null || previousIndex.containsKey(className)
+            || manifest != null && manifest.wasEmpty(className);
+
+        if (manifest != null && indexed && manifest.reuse(className, hash, labelIndex)) {
+            getLog().debug("Skipping unchanged %s".formatted(className));
+            if (indexedClasses != null && previousIndex.containsKey(className)) {
+                indexedClasses.put(className, previousIndex.get(className));
+            }
+            return;
+        }
+
+        try {
+            long classStart = System.nanoTime();
+            ClassMetadata testClass = metadataScanner.scan(className);
+            metrics.record(GenerationMetrics.Phase.CLASS_LOADING, classStart);
+            if (indexedClasses != null && !testClass.isEmpty()) {
+                indexedClasses.put(className, testClass);
+            }
+            // Labels of this class are collected separately, so they can be recorded in the manifest
+            LabelIndex classLabels = new LabelIndex();
+            List<String> files = new ArrayList<>();
+            // the test-class is read only once, all formats are rendered from the same metadata
+            for (DocRenderer renderer : renderers) {
+                String filePath = renderer.getFilePath(filename);
+                long renderStart = System.nanoTime();
+                WriteResult result = renderer.render(testClass, filename, classLabels);
+                metrics.record(renderer.getPhase(), renderStart);
+                recordWrite(metrics, result, filePath);
+                files.add(filePath);
+            }
+            metrics.recordClass(className, testClass.tests().size(), System.nanoTime() - classStart);
+
+            labelIndex.addAll(classLabels);
+            if (manifest != null) {
+                manifest.record(className, hash, files.stream().filter(file -> Files.exists(Path.of(file))).toList(), classLabels,
+                    testClass.isEmpty());
+            }
+        } catch (ClassNotFoundException | IOException ex) {
+            getLog().warn(String.format("Cannot load %s", className));
+            getLog().error(ex);
+        }
+    }
+
+    /**
+     * Generates selection files and shards for each label from {@param labelIndex}
+     *
+     * @param labelIndex labels and test-cases covering them
+     * @param metrics    metrics of the current run
+     * @throws MojoExecutionException in case that the weights cannot be read or the files cannot be written
+     */
+    void generateSelection(LabelIndex labelIndex, GenerationMetrics metrics) throws MojoExecutionException {
+        try {
+            Map<String, Double> weights = shardWeights != null ? SelectionGenerator.loadWeights(shardWeights.toPath()) : Map.of();
+            for (Map.Entry<String, WriteResult> result : SelectionGenerator.generate(docsPath, labelIndex, shards, weights,
+                metrics.getWriteStatistics()).entrySet()) {
+                recordWrite(metrics, result.getValue(), result.getKey());
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot generate test selection files", e);
+        }
+    }
+
+    /**
+     * Loads the binary index written by the previous run, so documentation of unchanged test-classes doesn't have to be
+     * read again
+     *
+     * @return documentation of test-classes by their names, empty in case that the index doesn't exist or cannot be read
+     */
+    private Map<String, ClassMetadata> loadPreviousIndex() {
+        Map<String, ClassMetadata> previousIndex = new HashMap<>();
+        Path indexFile = Path.of(docsPath, MetadataIndexWriter.BINARY_FILE);
+
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                MetadataIndexReader.read(indexFile).forEach(testClass -> previousIndex.put(testClass.className(), testClass));
+            } catch (IOException e) {
+                // all test-classes are read again
+                getLog().debug("Cannot read previous metadata index %s".formatted(indexFile), e);
+                previousIndex.clear();
+            }
+        }
+
+        return previousIndex;
+    }
+
+    /**
+     * Writes the index of {@param classes} in JSON and binary format into {@link #docsPath}
+     *
+     * @param classes documentation of all test-classes
+     * @param metrics metrics of the current run
+     * @throws MojoExecutionException in case that the index cannot be written
+     */
+    void writeIndex(Collection<ClassMetadata> classes, GenerationMetrics metrics) throws MojoExecutionException {
+        String jsonFile = docsPath + MetadataIndexWriter.JSON_FILE;
+        String binaryFile = docsPath + MetadataIndexWriter.BINARY_FILE;
+
+        try {
+            recordWrite(metrics, MetadataIndexWriter.writeJson(classes, jsonFile), jsonFile);
+            recordWrite(metrics, MetadataIndexWriter.writeBinary(classes, binaryFile), binaryFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write metadata index", e);
+        }
+    }
+
+    /**
+     * Creates renderers of all enabled output formats, fmf is rendered only in case of {@link #generateFmf}
+     *
+     * @param labelDescriptions label description files found in the docs directory
+     * @return renderers of the enabled formats
+     */
+    List<DocRenderer> createRenderers(LabelDescriptions labelDescriptions) {
+        if (!generateFmf) {
+            getLog().debug("Skipping fmf generation");
+        }
+        return DocRenderer.create(docsPath, generateFmf, labelDescriptions);
+    }
+
+    /**
+     * Records result of writing the generated {@param file} into the {@param metrics}
+     *
+     * @param metrics metrics of the current run
+     * @param result  result of writing the file
+     * @param file    path of the generated file
+     * @throws IOException in case that size of the written file cannot be read
+     */
+    private static void recordWrite(GenerationMetrics metrics, WriteResult result, String file) throws IOException {
+        metrics.getWriteStatistics().record(result);
+        if (result == WriteResult.WRITTEN) {
+            metrics.addBytesWritten(Files.size(Path.of(file)));
+        }
+    }
+
+    /**
+     * Logs summary of the {@param metrics} and writes them into {@link #metricsFile}
+     *
+     * @param metrics metrics of the current run
+     */
+    private void reportMetrics(GenerationMetrics metrics) {
+        WriteStatistics statistics = metrics.getWriteStatistics();
+
+        getLog().info("Files written: %d, unchanged: %d, deleted: %d".formatted(
+            statistics.getWritten(), statistics.getUnchanged(), statistics.getDeleted()));
+        getLog().info("Classes: %d (generated %d), test-cases: %d, labels: %d, bytes written: %d".formatted(
+            metrics.getClasses(), metrics.getGeneratedClasses(), metrics.getMethods(), metrics.getLabels(), metrics.getBytesWritten()));
+
+        StringBuilder phases = new StringBuilder();
+        for (GenerationMetrics.Phase phase : GenerationMetrics.Phase.values()) {
+            phases.append(phases.isEmpty() ? "" : ", ").append(phase.getKey()).append(' ').append(metrics.getPhaseMillis(phase)).append(" ms");
+        }
+        getLog().info("Time spent: %s (total %d ms)".formatted(phases, metrics.getTotalMillis()));
+
+        metrics.getSlowestClasses(SLOWEST_CLASSES_IN_LOG).forEach(timing -> getLog().info("Slow test-class %s: %d test-cases, %d ms"
+            .formatted(timing.className(), timing.methods(), TimeUnit.NANOSECONDS.toMillis(timing.nanos()))));
+
+        try {
+            metrics.write(metricsFile.toPath(), SLOWEST_CLASSES_IN_REPORT);
+        } catch (IOException e) {
+            getLog().warn("Cannot write metrics to %s".formatted(metricsFile), e);
+        }
+    }
+
+    /**
+     * Computes hash of the compiled test-class inside the test output directories
+     *
+     * @param className name of the test-class
+     * @return hash of the class file, or null in case that the class file is not present in any test output directory
+     */
+    private String hashTestClass(String className) {
+        for (MavenProject documentedProject : getDocumentedProjects()) {
+            Path classFile = Path.of(documentedProject.getBuild().getTestOutputDirectory(), className.replace('.', '/') + ".class");
+            try {
+                String hash = GenerationManifest.hashFile(classFile);
+                if (hash != null) {
+                    return hash;
+                }
+            } catch (IOException e) {
+                getLog().debug("Cannot compute hash of %s, it will be generated".formatted(classFile));
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes hash of everything, apart of the test-classes themselves, that changes content of the generated docs.
+     * In case that the hash differs from the one in the manifest, all test-classes are generated again.
+     *
+     * @return hash of the configuration
+     */
+    private String computeConfigurationHash(LabelDescriptions labelDescriptions) {
+        StringBuilder configuration = new StringBuilder()
+            .append(mojoExecution.getVersion()).append('\n')
+            .append(docsPath).append('\n')
+            .append(generateFmf).append('\n')
+            .append(generateDirs).append('\n');
+
+        // links to labels depend on existence of the labels description files
+        labelDescriptions.getLabels().forEach(label -> configuration.append(label).append('\n'));
+
+        return GenerationManifest.hash(configuration.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void deleteDocsOfRemovedClasses(GenerationManifest manifest, Set<String> currentClasses, WriteStatistics statistics) {
+        for (String file : manifest.getFilesOfRemovedClasses(currentClasses)) {
+            try {
+                if (Files.deleteIfExists(Path.of(file))) {
+                    statistics.recordDeleted();
+                    getLog().info("Deleted docs of removed test-class: %s".formatted(file));
+                }
+            } catch (IOException e) {
+                getLog().warn("Cannot delete %s".formatted(file), e);
+            }
+        }
+    }
+
+    private void saveManifest(GenerationManifest manifest, Path manifestFile) {
+        try {
+            manifest.save(manifestFile);
+        } catch (IOException e) {
+            // without manifest the next run is just not incremental
+            getLog().warn("Cannot save manifest for incremental generation to %s".formatted(manifestFile), e);
+        }
+    }
+
+    /**
+     * Adds jar files found in {@link #getLibraryPaths()} to the {@param classpath}.
+     * Found jar files are cached inside {@link #manifestDirectory}, separately for each execution and configuration of
+     * the library parameters, and the library directories are walked again only when any of the walked directories is changed.
+     *
+     * @param classpath set containing all libs set on classPath, from where the test-classes will be loaded
+     * @throws MojoExecutionException in case that the jar files or the cache cannot be read or written
+     */
+    private void addJarFilesToClassPath(Set<URI> classpath) throws MojoExecutionException {
+        List<Path> directories = getLibraryPaths().stream().map(File::toPath).toList();
+        directories.stream()
+            .filter(directory -> !Files.isDirectory(directory))
+            .forEach(directory -> getLog().warn("Library path %s is not a directory.".formatted(directory)));
+
+        JarDiscovery discovery = new JarDiscovery(libraryIncludes, libraryExcludes, libraryDepth);
+        // every execution and configuration has its own cache, so they don't overwrite each other
+        Path cacheFile = manifestDirectory.toPath().resolve(LIBRARY_CACHE_FILE.formatted(mojoExecution.getExecutionId(),
+            discovery.configurationHash().substring(0, 16)));
+
+        try {
+            for (Path jar : discovery.discover(directories, cacheFile)) {
+                getLog().debug("Found .jar file: " + jar);
+                classpath.add(jar.toUri());
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot find jar files in %s".formatted(directories), e);
+        }
+    }
+
+    /**
+     * Lists test-classes found by {@link #findTestClasses(List)} followed by the test-classes from the test-jars,
+     * which are not documented into the same file as any of the previous test-classes
+     *
+     * @return sorted map with path of the documentation file (without suffix) as a key, and name of the test-class as value
+     */
+    private Map<String, String> listTestClasses() {
+        List<String> excludePatterns = excludes == null ? List.of() : excludes;
+        Map<String, String> testClasses = new TreeMap<>(findTestClasses(excludePatterns));
+        Utils.getTestClassesFromJars(testJarPaths, generateDirs, excludePatterns).forEach(testClasses::putIfAbsent);
+        return testClasses;
+    }
+
+    /**
+     * Returns {@link #testJars} followed by the files of resolved {@link #testJarArtifacts}
+     *
+     * @return test-jar files
+     * @throws MojoExecutionException in case that the test-jar file doesn't exist, or the artifact cannot be resolved
+     */
+    private List<Path> resolveTestJars() throws MojoExecutionException {
+        List<Path> jars = new ArrayList<>();
+
+        if (testJars != null) {
+            for (File testJar : testJars) {
+                if (!testJar.isFile()) {
+                    throw new MojoExecutionException("Test-jar %s does not exist".formatted(testJar));
+                }
+                jars.add(testJar.toPath());
+            }
+        }
+
+        if (testJarArtifacts != null && !testJarArtifacts.isEmpty()) {
+            jars.addAll(new DependencyResolver(dependencyGraphBuilder, repositorySystem, session, getLog())
+                .resolveTestJars(testJarArtifacts, project.getRemoteProjectRepositories()));
+        }
+
+        return jars;
+    }
+
+    /**
+     * Adds dependencies of all documented projects to the {@param classpath}.
+     * Resolved classpath is cached inside {@link #manifestDirectory}, keyed by hash of the project dependencies and of the
+     * dependency management, so the dependency graph is built and artifacts are resolved only when the dependencies
+     * change, or when any of the resolved SNAPSHOT artifacts is rebuilt.
+     *
+     * @param classpath set containing all libs set on classPath, from where the test-classes will be loaded
+     * @throws MojoExecutionException in case that the dependency graph cannot be built
+     */
+    private void addDependenciesToClassPath(Set<URI> classpath) throws MojoExecutionException {
+        Path cacheFile = manifestDirectory.toPath().resolve(CLASSPATH_CACHE_FILE);
+        String cacheKey = computeDependenciesHash();
+
+        Optional<List<Path>> cached = ClasspathCache.read(cacheFile, cacheKey);
+        if (cached.isPresent()) {
+            getLog().debug("Using cached dependency classpath from %s".formatted(cacheFile));
+            cached.get().forEach(path -> classpath.add(path.toUri()));
+            return;
+        }
+
+        List<Artifact> artifacts = new DependencyResolver(dependencyGraphBuilder, repositorySystem, session, getLog())
+            .resolve(getDocumentedProjects(), project.getRemoteProjectRepositories());
+        List<Path> dependencies = artifacts.stream().map(artifact -> artifact.getFile().toPath()).toList();
+        Set<Path> snapshots = artifacts.stream()
+            .filter(Artifact::isSnapshot)
+            .map(artifact -> artifact.getFile().toPath())
+            .collect(Collectors.toSet());
+
+        dependencies.forEach(path -> classpath.add(path.toUri()));
+
+        try {
+            ClasspathCache.write(cacheFile, cacheKey, dependencies, snapshots);
+        } catch (IOException e) {
+            // without cache the dependencies are just resolved again next time
+            getLog().warn("Cannot write dependency classpath cache to %s".formatted(cacheFile), e);
+        }
+    }
+
+    /**
+     * Computes hash of the effective project dependencies (with versions from dependency management already applied),
+     * and of the dependency management, which pins versions of the transitive dependencies,
+     * used as a key of the dependency classpath cache
+     *
+     * @return hash of the project dependencies
+     */
+    private String computeDependenciesHash() {
+        StringBuilder dependencies = new StringBuilder()
+            .append(mojoExecution.getVersion()).append('\n');
+
+        for (MavenProject documentedProject : getDocumentedProjects()) {
+            dependencies.append(documentedProject.getId()).append('\n');
+            documentedProject.getDependencies().forEach(dependency -> appendDependency(dependencies, dependency));
+
+            DependencyManagement dependencyManagement = documentedProject.getDependencyManagement();
+            if (dependencyManagement != null) {
+                dependencies.append("management").append('\n');
+                dependencyManagement.getDependencies().forEach(dependency -> appendDependency(dependencies, dependency));
+            }
+        }
+
+        return GenerationManifest.hash(dependencies.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendDependency(StringBuilder dependencies, Dependency dependency) {
+        dependencies.append(dependency.getManagementKey()).append(':').append(dependency.getVersion())
+            .append(':').append(dependency.getScope()).append(':').append(dependency.isOptional());
+        dependency.getExclusions().forEach(exclusion ->
+            dependencies.append(":!").append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId()));
+        dependencies.append('\n');
+    }
+}
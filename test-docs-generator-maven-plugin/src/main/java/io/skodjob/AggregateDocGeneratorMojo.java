@@ -0,0 +1,114 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import io.skodjob.common.Utils;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates documentation of test-classes from all modules of the reactor at once.
+ * The goal runs only once, on the root of the reactor, so all test-classes are loaded by a single class loader,
+ * and labels files are updated only once with links to the test-cases from all modules.
+ * Only the project the goal is executed on and its modules (recursively) are documented, so the goal bound
+ * to a project inside a bigger reactor documents just the modules of that project.
+ * The modules have to be compiled before the goal is executed.
+ */
+@Mojo(
+    name = "test-docs-generator-aggregate",
+    aggregator = true,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME
+)
+public class AggregateDocGeneratorMojo extends AbstractDocGeneratorMojo {
+
+    private static final String POM_PACKAGING = "pom";
+
+    /**
+     * All projects of the reactor
+     */
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
+    List<MavenProject> reactorProjects;
+
+    /**
+     * Constructor
+     */
+    public AggregateDocGeneratorMojo() {
+        // constructor
+    }
+
+    /**
+     * Lists test-classes inside test source roots of all modules of the reactor.
+     * In case that multiple modules contain test-class documented into the same file, the first one is used.
+     *
+     * @param excludes glob patterns of the files and directories, which should not be documented
+     * @return map with path of the documentation file (without suffix) as a key, and name of the test-class as value
+     */
+    @Override
+    protected Map<String, String> findTestClasses(List<String> excludes) {
+        Map<String, String> testClasses = new TreeMap<>();
+
+        for (MavenProject module : getDocumentedProjects()) {
+            for (String testSourceRoot : module.getTestCompileSourceRoots()) {
+                if (!new File(testSourceRoot).isDirectory()) {
+                    continue;
+                }
+
+                Utils.getTestClassesWithTheirPath(testSourceRoot + "/", generateDirs, excludes).forEach((filename, className) -> {
+                    String existing = testClasses.putIfAbsent(filename, className);
+                    if (existing != null && !existing.equals(className)) {
+                        getLog().warn("Test-class %s from %s has the same docs path as %s, skipping it".formatted(className, module.getArtifactId(), existing));
+                    }
+                });
+            }
+        }
+
+        return testClasses;
+    }
+
+    /**
+     * Returns projects of the reactor, which are either the executed project or one of its modules (recursively),
+     * in the reactor order. Projects with {@code pom} packaging don't contain any test-classes, so they are skipped.
+     *
+     * @return documented projects
+     */
+    @Override
+    protected List<MavenProject> getDocumentedProjects() {
+        Set<MavenProject> modules = new HashSet<>(project.getCollectedProjects());
+        modules.add(project);
+
+        return reactorProjects.stream()
+            .filter(modules::contains)
+            .filter(module -> !POM_PACKAGING.equals(module.getPackaging()))
+            .toList();
+    }
+
+    /**
+     * Returns {@link #libraryPath} together with build directories of all modules, so libraries copied
+     * by each module (f.e. by maven-dependency-plugin) are on the class path as well
+     *
+     * @return directories with libraries
+     */
+    @Override
+    protected List<File> getLibraryPaths() {
+        List<File> libraryPaths = new ArrayList<>(super.getLibraryPaths());
+
+        getDocumentedProjects().stream()
+            .map(module -> new File(module.getBuild().getDirectory()))
+            .filter(directory -> !libraryPaths.contains(directory))
+            .forEach(libraryPaths::add);
+
+        return libraryPaths;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves files of all transitive dependencies of the documented projects, and of the test-jar artifacts
+ */
+class DependencyResolver {
+
+    private static final String TESTS_CLASSIFIER = "tests";
+    private static final String JAR_EXTENSION = "jar";
+
+    private final DependencyGraphBuilder dependencyGraphBuilder;
+    private final RepositorySystem repositorySystem;
+    private final MavenSession session;
+    private final Log log;
+
+    /**
+     * Creates resolver using Maven components of the running build
+     *
+     * @param dependencyGraphBuilder builder of the project dependency graphs
+     * @param repositorySystem       repository system used for resolving the artifacts
+     * @param session                current Maven session
+     * @param log                    log of the mojo
+     */
+    DependencyResolver(DependencyGraphBuilder dependencyGraphBuilder, RepositorySystem repositorySystem, MavenSession session, Log log) {
+        this.dependencyGraphBuilder = dependencyGraphBuilder;
+        this.repositorySystem = repositorySystem;
+        this.session = session;
+        this.log = log;
+    }
+
+    /**
+     * Builds dependency graphs of all {@param projects} and resolves files of all artifacts in them
+     *
+     * @param projects     projects, which dependencies should be resolved
+     * @param repositories remote repositories used for resolving of the artifacts
+     * @return all dependencies with resolved files, artifacts that cannot be resolved are skipped
+     * @throws MojoExecutionException in case that the dependency graph cannot be built
+     */
+    List<Artifact> resolve(List<MavenProject> projects, List<RemoteRepository> repositories) throws MojoExecutionException {
+        Set<String> visited = new HashSet<>();
+        List<Artifact> artifacts = new ArrayList<>();
+
+        for (MavenProject documentedProject : projects) {
+            ProjectBuildingRequest buildingRequest =
+                    new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+
+            buildingRequest.setProject(documentedProject);
+            buildingRequest.setResolveDependencies(true);
+
+            DependencyNode projectRoot;
+
+            try {
+                projectRoot = dependencyGraphBuilder.buildDependencyGraph(buildingRequest, null);
+            } catch (DependencyGraphBuilderException e) {
+                throw new MojoExecutionException("Cannot build project dependency graph", e);
+            }
+
+            log.debug("Project root node %s".formatted(projectRoot.toNodeString()));
+            artifacts.addAll(walk(projectRoot, visited));
+        }
+
+        return resolveFiles(artifacts, repositories).stream()
+                .filter(artifact -> artifact.getFile() != null)
+                .toList();
+    }
+
+    /**
+     * Resolves files of the test-jar artifacts with the {@param coordinates}
+     *
+     * @param coordinates  coordinates of the artifacts, either {@code groupId:artifactId:version} for the artifact with
+     *                     {@code tests} classifier, or {@code groupId:artifactId:extension:classifier:version}
+     * @param repositories remote repositories used for resolving of the artifacts
+     * @return files of the artifacts, in the order of the {@param coordinates}
+     * @throws MojoExecutionException in case that any of the coordinates is invalid, or the artifact cannot be resolved
+     */
+    List<Path> resolveTestJars(List<String> coordinates, List<RemoteRepository> repositories) throws MojoExecutionException {
+        List<ArtifactRequest> requests = new ArrayList<>();
+        for (String coordinate : coordinates) {
+            String[] parts = coordinate.trim().split(":");
+            try {
+                org.eclipse.aether.artifact.Artifact artifact = parts.length == 3
+                    ? new DefaultArtifact(parts[0], parts[1], TESTS_CLASSIFIER, JAR_EXTENSION, parts[2])
+                    : new DefaultArtifact(coordinate.trim());
+                requests.add(new ArtifactRequest(artifact, repositories, null));
+            } catch (IllegalArgumentException e) {
+                throw new MojoExecutionException("Invalid test-jar coordinates: %s".formatted(coordinate), e);
+            }
+        }
+
+        try {
+            return repositorySystem.resolveArtifacts(session.getRepositorySession(), requests).stream()
+                .map(result -> result.getArtifact().getFile().toPath())
+                .toList();
+        } catch (ArtifactResolutionException e) {
+            throw new MojoExecutionException("Cannot resolve test-jar artifacts", e);
+        }
+    }
+
+    /**
+     * Flatten all dependency nodes and descendants to a list of artifacts.
+     * Each artifact is visited only once, even if it is present on multiple places of the graph, or in graphs
+     * of multiple projects sharing the same {@param visited} set.
+     */
+    private List<Artifact> walk(DependencyNode projectRoot, Set<String> visited) {
+        List<Artifact> artifacts = new ArrayList<>();
+        Deque<DependencyNode> nodes = new ArrayDeque<>(projectRoot.getChildren());
+
+        while (!nodes.isEmpty()) {
+            DependencyNode node = nodes.pollFirst();
+            if (visited.add(node.getArtifact().getId())) {
+                artifacts.add(node.getArtifact());
+                // children are processed right after their parent, in the same order as in the graph
+                List<DependencyNode> children = node.getChildren();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    nodes.addFirst(children.get(i));
+                }
+            }
+        }
+
+        return artifacts;
+    }
+
+    /**
+     * Resolves files of all artifacts, which don't have them yet, using single batch request to the repository system.
+     * Artifacts that cannot be resolved are returned without the file.
+     */
+    private List<Artifact> resolveFiles(List<Artifact> artifacts, List<RemoteRepository> repositories) {
+        List<ArtifactRequest> requests = artifacts.stream()
+                .filter(artifact -> artifact.getFile() == null)
+                .map(artifact -> new ArtifactRequest(RepositoryUtils.toArtifact(artifact), repositories, null))
+                .toList();
+
+        if (requests.isEmpty()) {
+            return artifacts;
+        }
+
+        log.debug("Resolving %d artifact(s)".formatted(requests.size()));
+
+        List<ArtifactResult> results;
+        try {
+            results = repositorySystem.resolveArtifacts(session.getRepositorySession(), requests);
+        } catch (ArtifactResolutionException e) {
+            log.debug("Some of the artifacts cannot be resolved: %s".formatted(e.getMessage()));
+            results = e.getResults();
+        }
+
+        Map<String, File> resolved = new HashMap<>();
+        for (ArtifactResult result : results) {
+            if (result.isResolved()) {
+                resolved.put(ArtifactIdUtils.toId(result.getRequest().getArtifact()), result.getArtifact().getFile());
+            }
+        }
+
+        for (Artifact artifact : artifacts) {
+            if (artifact.getFile() == null) {
+                artifact.setFile(resolved.get(ArtifactIdUtils.toId(RepositoryUtils.toArtifact(artifact))));
+            }
+        }
+
+        return artifacts;
+    }
+}
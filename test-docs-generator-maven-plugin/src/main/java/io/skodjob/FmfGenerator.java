@@ -4,32 +4,34 @@
  */
 package io.skodjob;
 
-import io.skodjob.annotations.Label;
-import io.skodjob.annotations.Step;
-import io.skodjob.annotations.TestDoc;
 import io.skodjob.common.Utils;
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.TestMetadata;
+import io.skodjob.scanner.ReflectionScanner;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 
 /**
  * The FmfGenerator generates FMF files for each documented test-case inside the test-class
  * For each test-class is created separate FMF file - with the same name as the test-class
- * All needed information is parsed from the particular @TestDoc annotation.
+ * All needed information is taken from the {@link ClassMetadata} of the test-class, obtained from the particular @TestDoc annotation.
  */
 public class FmfGenerator {
 
+    // same line separator as used by PrintWriter before, so the generated files stay the same
+    private static final String NEW_LINE = System.lineSeparator();
+    // creation of Yaml is expensive and the instance is not thread-safe, so each thread keeps its own configured instance
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(FmfGenerator::createYaml);
+
     /**
      * Private Constructor
      */
@@ -39,112 +41,98 @@ public class FmfGenerator {
 
     /**
      * Generates test documentation in fmf format.
-     * Lists all methods (test-cases) annotated by {@link TestDoc} inside the {@param testClass}, creates
-     * parent folders (if needed), new FMF file for the class, and after that generates test-suite documentation using
-     * {@link #generateDocumentationForTestCases(PrintWriter, List)}, all written inside the newly created Markdown file.
+     * Reads documentation of the {@param testClass} using reflection and generates the FMF file using
+     * {@link #generate(ClassMetadata, String)}.
      *
      * @param testClass     for which the FMF file is created and test-cases are documented
      * @param classFilePath path of the FMF file
+     * @return result of writing the FMF file
      * @throws IOException during file creation
      */
-    public static void generate(Class<?> testClass, String classFilePath) throws IOException {
-        List<Method> methods = Arrays.stream(testClass.getDeclaredMethods())
-            .filter(method -> method.getAnnotation(TestDoc.class) != null)
-            .sorted(Comparator.comparing(Method::getName)).toList();
-
-        if (!methods.isEmpty()) {
-            try (PrintWriter printWriter = Utils.createFilesForTestClass(classFilePath)) {
-                generateDocumentationForTestCases(printWriter, methods);
-            }
-        }
+    public static WriteResult generate(Class<?> testClass, String classFilePath) throws IOException {
+        return generate(ReflectionScanner.extract(testClass), classFilePath);
     }
 
     /**
-     * Generates documentation records for each test-cases (test-methods) from {@param methods}
+     * Generates test documentation in fmf format.
+     * Lists all test-cases documented inside the {@param testClass}, renders records of all test-cases using
+     * {@link #createTestRecord(StringBuilder, TestMetadata)} into a buffer reused by the current thread, and writes it
+     * at once to the FMF file (parent folders are created if needed).
+     * The file is written only when its content differs from the already existing one.
      *
-     * @param writer  file writer
-     * @param methods containing {@link TestDoc} annotation
+     * @param testClass     documentation of the test-class for which the FMF file is created
+     * @param classFilePath path of the FMF file
+     * @return result of writing the FMF file, {@link WriteResult#EMPTY} if there is no documented test-case
+     * @throws IOException during file creation
      */
-    private static void generateDocumentationForTestCases(PrintWriter writer, List<Method> methods) {
-        if (!methods.isEmpty()) {
-            methods.forEach(method -> {
-                TestDoc testDoc = method.getAnnotation(TestDoc.class);
-                if (testDoc != null) {
-                    createTestRecord(writer, testDoc, method.getName());
-                }
-            });
+    public static WriteResult generate(ClassMetadata testClass, String classFilePath) throws IOException {
+        // test-cases are already sorted by their names
+        List<TestMetadata> tests = testClass.tests();
+
+        if (!tests.isEmpty()) {
+            StringBuilder content = Utils.getRenderBuffer();
+            tests.forEach(test -> createTestRecord(content, test));
+            return Utils.writeFile(classFilePath, content);
         }
+
+        return WriteResult.EMPTY;
     }
 
     /**
      * Creates a single record of a test-case (test-method) inside the test-class
      * The record contains: name of the test, description, steps, labels, and use-cases obtained from the
-     * {@param testDoc}.
+     * {@param test}.
+     * Keys are always in the same order: summary, contact, description, steps, and labels.
      *
-     * @param write      file writer
-     * @param testDoc    annotation containing all @TestDoc objects, from which is the record generated
-     * @param methodName name of the test-case containing {@param testDoc}
+     * @param content buffer the record is appended to
+     * @param test    documentation of the test-case, from which is the record generated
      */
-    public static void createTestRecord(PrintWriter write, TestDoc testDoc, String methodName) {
+    public static void createTestRecord(StringBuilder content, TestMetadata test) {
 
-        Map<String, Object> testCaseData = new HashMap<>();
-        testCaseData.put("summary", methodName);
+        Map<String, Object> testCaseData = new LinkedHashMap<>();
+        testCaseData.put("summary", test.methodName());
+        if (!test.contact().isEmpty()) {
+            testCaseData.put("contact", String.format("%s <%s>", test.contact().name(), test.contact().email()));
+        }
         // Make description multiline out of the box
-        String description = String.format("%s\n", testDoc.description().value());
+        String description = String.format("%s\n", test.description());
         testCaseData.put("description", description);
-        if (!Objects.equals(testDoc.contact().name(), "")) {
-            testCaseData.put("contact", String.format("%s <%s>", testDoc.contact().name(), testDoc.contact().email()));
-        }
-        if (testDoc.labels().length > 0) {
-            testCaseData.put("labels", createLabels(testDoc.labels()));
+        if (!test.steps().isEmpty()) {
+            testCaseData.put("steps", createListOfSteps(test.steps()));
         }
-        if (testDoc.steps().length > 0) {
-            testCaseData.put("steps", createListOfSteps(testDoc.steps()));
+        if (!test.labels().isEmpty()) {
+            testCaseData.put("labels", test.labels());
         }
 
-        Map<String, Object> yamlData = new HashMap<>();
-        String testCaseKey = String.format("/%s", methodName);
-        yamlData.put(testCaseKey, testCaseData);
+        String testCaseKey = String.format("/%s", test.methodName());
 
         // Serialize the data to YAML
-        DumperOptions options = new DumperOptions();
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        Yaml yaml = new Yaml(options);
-
-        yaml.dump(yamlData, write);
-        write.println();
+        content.append(YAML.get().dump(Map.of(testCaseKey, testCaseData))).append(NEW_LINE);
     }
 
     /**
-     * For the provided list of steps creates table with following columns:
+     * For the provided list of steps creates list of maps, each with the step and its expected result
      *
      * @param steps list of steps of the test-case
      * @return List of maps that represents all steps of teh test-case
      */
-    private static List<Map<String, String>> createListOfSteps(Step[] steps) {
+    private static List<Map<String, String>> createListOfSteps(List<StepMetadata> steps) {
 
-        List<Map<String, String>> listOfSteps = new ArrayList<>();
+        List<Map<String, String>> listOfSteps = new ArrayList<>(steps.size());
 
-        for (Step step : steps) {
-            Map<String, String> stepMap = new HashMap<>();
-            stepMap.put("step", step.value());
+        for (StepMetadata step : steps) {
+            Map<String, String> stepMap = new LinkedHashMap<>();
             stepMap.put("result", step.expected());
+            stepMap.put("step", step.value());
             listOfSteps.add(stepMap);
         }
 
         return listOfSteps;
     }
 
-    /**
-     * Creates list of labels for the particular test-case
-     *
-     * @param labels list of labels from the {@link TestDoc} annotation
-     * @return list of labels in {@link List<String>}
-     */
-    private static List<String> createLabels(Label[] labels) {
-        List<String> fmfLabels = new ArrayList<>();
-        Arrays.stream(labels).forEach(testLabel -> fmfLabels.add(testLabel.value()));
-
-        return fmfLabels;
+    private static Yaml createYaml() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return new Yaml(options);
     }
 }
@@ -4,47 +4,61 @@
  */
 package io.skodjob;
 
-import io.skodjob.annotations.Label;
-import io.skodjob.annotations.Step;
 import io.skodjob.annotations.SuiteDoc;
-import io.skodjob.annotations.TestDoc;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
 import io.skodjob.common.Utils;
+import io.skodjob.common.WriteResult;
+import io.skodjob.common.WriteStatistics;
 import io.skodjob.markdown.Header;
 import io.skodjob.markdown.Line;
 import io.skodjob.markdown.Table;
 import io.skodjob.markdown.TextList;
 import io.skodjob.markdown.TextStyle;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+import io.skodjob.scanner.ReflectionScanner;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * The MdGenerator generates Markdown files for each documented test-case inside the test-class
  * For each test-class is created separate Markdown file - with the same name as the test-class
- * All needed information is parsed from the particular @TestDoc annotation.
+ * All needed information is taken from the {@link ClassMetadata} of the test-class, obtained from the particular @TestDoc annotation.
  */
 public class MdGenerator {
 
-    private static final String LABELS = "labels";
-    private static Map<String, Map<String, String>> labelsMap = new TreeMap<>();
+    /**
+     * Name of the directory inside the docs with labels description files
+     */
+    public static final String LABELS = "labels";
+
+    private static final String GENERATED_PART_MARKER_TEXT = "<!-- generated part -->";
+    private static final byte[] GENERATED_PART_MARKER = GENERATED_PART_MARKER_TEXT.getBytes(StandardCharsets.UTF_8);
+    // marker appended to the label files without it, including the empty line before it
+    private static final byte[] GENERATED_PART = ("\n" + GENERATED_PART_MARKER_TEXT + "\n").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEW_LINE_BYTES = "\n".getBytes(StandardCharsets.UTF_8);
+    // same line separator as used by PrintWriter before, so the generated files stay the same
+    private static final String NEW_LINE = System.lineSeparator();
+    private static final List<String> STEPS_HEADERS = List.of("Step", "Action", "Result");
 
     /**
      * Private Constructor
@@ -55,155 +69,185 @@ public class MdGenerator {
 
     /**
      * Method that generates test documentation of the specified test-class.
-     * Lists all methods (test-cases) annotated by {@link TestDoc} inside the {@param testClass}, creates
-     * parent folders (if needed), new Markdown file for the class, and after that generates test-suite documentation using
-     * {@link #createSuiteRecord(PrintWriter, String, String, SuiteDoc)} and then test-cases documentation using {@link #createTestRecord(PrintWriter, TestDoc, String, String, String)},
-     * all written inside the newly created Markdown file.
+     * Reads documentation of the {@param testClass} using reflection and generates the Markdown file using
+     * {@link #generate(ClassMetadata, String, String, LabelIndex)}.
      *
      * @param testClass     for which the Markdown file is created and test-cases are documented
      * @param docsDirPath   root path of the testing docs
      * @param classFilePath path of the Markdown file
+     * @param labelIndex    index of labels for the current run, updated with labels of the test-cases
+     * @return result of writing the Markdown file
+     * @throws IOException during file creation
+     */
+    public static WriteResult generate(Class<?> testClass, String docsDirPath, String classFilePath, LabelIndex labelIndex) throws IOException {
+        return generate(ReflectionScanner.extract(testClass), docsDirPath, classFilePath, labelIndex);
+    }
+
+    /**
+     * Method that generates test documentation of the specified test-class.
+     * Lists the labels directory inside {@param docsDirPath} and generates the Markdown file using
+     * {@link #generate(ClassMetadata, String, String, LabelIndex, LabelDescriptions)}.
+     *
+     * @param testClass     documentation of the test-class for which the Markdown file is created
+     * @param docsDirPath   root path of the testing docs
+     * @param classFilePath path of the Markdown file
+     * @param labelIndex    index of labels for the current run, updated with labels of the test-cases
+     * @return result of writing the Markdown file, {@link WriteResult#EMPTY} if the test-class is not documented
+     * @throws IOException during file creation
+     */
+    public static WriteResult generate(ClassMetadata testClass, String docsDirPath, String classFilePath, LabelIndex labelIndex) throws IOException {
+        return generate(testClass, docsDirPath, classFilePath, labelIndex, LabelDescriptions.load(docsDirPath + LABELS));
+    }
+
+    /**
+     * Method that generates test documentation of the specified test-class.
+     * Lists all test-cases documented inside the {@param testClass}, renders the whole Markdown document for the class
+     * into a buffer reused by the current thread, and writes it at once to the file (parent folders are created if needed).
+     * The file is written only when its content differs from the already existing one.
+     * The test-suite documentation is rendered using
+     * {@link #createSuiteRecord(StringBuilder, String, LabelDescriptions, SuiteMetadata)} and then test-cases documentation using
+     * {@link #createTestRecord(StringBuilder, TestMetadata, String, LabelDescriptions, String, String, LabelIndex)},
+     * all rendered inside the buffer.
+     *
+     * @param testClass         documentation of the test-class for which the Markdown file is created
+     * @param docsDirPath       root path of the testing docs
+     * @param classFilePath     path of the Markdown file
+     * @param labelIndex        index of labels for the current run, updated with labels of the test-cases
+     * @param labelDescriptions index of labels with existing description files
+     * @return result of writing the Markdown file, {@link WriteResult#EMPTY} if the test-class is not documented
      * @throws IOException during file creation
      */
-    public static void generate(Class<?> testClass, String docsDirPath, String classFilePath) throws IOException {
-        SuiteDoc suiteDoc = testClass.getAnnotation(SuiteDoc.class);
+    public static WriteResult generate(ClassMetadata testClass, String docsDirPath, String classFilePath, LabelIndex labelIndex,
+                                       LabelDescriptions labelDescriptions) throws IOException {
         String classFilePathFull = docsDirPath + classFilePath;
 
-        List<Method> methods = Arrays.stream(testClass.getDeclaredMethods())
-            .filter(method -> method.getAnnotation(TestDoc.class) != null)
-            .sorted(Comparator.comparing((Method m) -> m.getName().toLowerCase(Locale.ENGLISH))).toList();
+        if (!testClass.isEmpty()) {
+            // whole document is rendered into the buffer of the current thread and written at once
+            StringBuilder content = Utils.getRenderBuffer();
+            // creating first level header for the test-suite
+            Header.appendFirstLevelHeader(content, testClass.simpleName()).append(NEW_LINE);
 
-        if (suiteDoc != null || !methods.isEmpty()) {
-            try (PrintWriter printWriter = Utils.createFilesForTestClass(classFilePathFull)) {
-                // creating first level header for the test-suite
-                printWriter.println(Header.firstLevelHeader(testClass.getSimpleName()));
+            String labelsFilesPath = computePathToLabelFiles(classFilePath);
 
-                String labelsFilesPath = computePathToLabelFiles(classFilePath);
+            generateDocumentationForTestSuite(content, labelsFilesPath, labelDescriptions, testClass.suite());
+            generateDocumentationForTestCases(content, labelsFilesPath, labelDescriptions, classFilePathFull, testClass.className(), testClass.tests(), labelIndex);
 
-                generateDocumentationForTestSuite(printWriter, labelsFilesPath, classFilePathFull, suiteDoc);
-                generateDocumentationForTestCases(printWriter, labelsFilesPath, classFilePathFull, methods);
-            }
+            return Utils.writeFile(classFilePathFull, content);
         }
+
+        return WriteResult.EMPTY;
     }
 
     /**
      * Generates documentation for the test-suite (test-class) if {@link SuiteDoc} is present
      *
-     * @param writer          file writer
-     * @param labelsFilesPath relative path to directory with labels files
-     * @param classFilePath   path to generated class file doc
-     * @param suiteDoc        containing {@link SuiteDoc} annotation
+     * @param content           buffer the documentation is appended to
+     * @param labelsFilesPath   relative path to directory with labels files
+     * @param labelDescriptions index of labels with existing description files
+     * @param suite             documentation of the test-suite, null if the test-class is not annotated by {@link SuiteDoc}
      */
-    private static void generateDocumentationForTestSuite(PrintWriter writer, String labelsFilesPath, String classFilePath, SuiteDoc suiteDoc) {
-        if (suiteDoc != null) {
-            createSuiteRecord(writer, labelsFilesPath, classFilePath, suiteDoc);
+    private static void generateDocumentationForTestSuite(StringBuilder content, String labelsFilesPath, LabelDescriptions labelDescriptions,
+                                                          SuiteMetadata suite) {
+        if (suite != null) {
+            createSuiteRecord(content, labelsFilesPath, labelDescriptions, suite);
         }
     }
 
     /**
-     * Generates documentation records for each test-cases (test-methods) from {@param methods}
+     * Generates documentation records for each test-cases (test-methods) from {@param tests}
      *
-     * @param writer          file writer
-     * @param labelsFilesPath relative path to directory with labels files
-     * @param methods         containing {@link TestDoc} annotation
+     * @param content           buffer the documentation is appended to
+     * @param labelsFilesPath   relative path to directory with labels files
+     * @param labelDescriptions index of labels with existing description files
+     * @param classFilePath     path to generated class file doc
+     * @param className         name of the test-class
+     * @param tests             documentation of the test-cases
+     * @param labelIndex        index of labels for the current run
      */
-    private static void generateDocumentationForTestCases(PrintWriter writer, String labelsFilesPath, String classFilePath, List<Method> methods) {
-
-        if (!methods.isEmpty()) {
-            methods.forEach(method -> {
-                TestDoc testDoc = method.getAnnotation(TestDoc.class);
-                if (testDoc != null) {
-                    createTestRecord(writer, testDoc, labelsFilesPath, classFilePath, method.getName());
-                }
-            });
-        }
+    private static void generateDocumentationForTestCases(StringBuilder content, String labelsFilesPath, LabelDescriptions labelDescriptions,
+                                                          String classFilePath, String className, List<TestMetadata> tests, LabelIndex labelIndex) {
+        tests.forEach(test -> createTestRecord(content, test, labelsFilesPath, labelDescriptions, classFilePath, className, labelIndex));
     }
 
     /**
      * Creates a single record of a test-case (test-method) inside the test-class
      * The record contains: name of the test as header level 2, description, steps, and use-cases obtained from the
-     * {@param testDoc}.
+     * {@param test}.
      *
-     * @param write           file writer
-     * @param testDoc         annotation containing all @TestDoc objects, from which is the record generated
-     * @param labelsFilesPath relative path to directory with labels files
-     * @param classFilePath   path to generated class file doc
-     * @param methodName      name of the test-case containing {@param testDoc}
+     * @param content           buffer the record is appended to
+     * @param test              documentation of the test-case, from which is the record generated
+     * @param labelsFilesPath   relative path to directory with labels files
+     * @param labelDescriptions index of labels with existing description files
+     * @param classFilePath     path to generated class file doc
+     * @param className         name of the test-class containing the {@param test}
+     * @param labelIndex        index of labels for the current run, updated with labels of the test-case
      */
-    public static void createTestRecord(PrintWriter write, TestDoc testDoc, String labelsFilesPath, String classFilePath, String methodName) {
-        write.println();
-        write.println(Header.secondLevelHeader(methodName));
-        write.println();
-        write.println(TextStyle.boldText("Description:") + " " + testDoc.description().value());
-        write.println();
-        if (!Objects.equals(testDoc.contact().name(), "")) {
-            write.println(TextStyle.boldText("Contact:") + " `" + testDoc.contact().name() + " <" + testDoc.contact().email() + ">`");
-            write.println();
+    public static void createTestRecord(StringBuilder content, TestMetadata test, String labelsFilesPath, LabelDescriptions labelDescriptions,
+                                        String classFilePath, String className, LabelIndex labelIndex) {
+        content.append(NEW_LINE);
+        Header.appendSecondLevelHeader(content, test.methodName()).append(NEW_LINE);
+        content.append(NEW_LINE);
+        TextStyle.appendBoldText(content, "Description:").append(" ").append(test.description()).append(NEW_LINE);
+        content.append(NEW_LINE);
+        if (!test.contact().isEmpty()) {
+            TextStyle.appendBoldText(content, "Contact:").append(" `")
+                .append(test.contact().name()).append(" <").append(test.contact().email()).append(">`").append(NEW_LINE);
+            content.append(NEW_LINE);
         }
 
-        if (testDoc.steps().length != 0) {
-            write.println(TextStyle.boldText("Steps:"));
-            write.println();
-            write.println(createTableOfSteps(testDoc.steps()));
+        if (!test.steps().isEmpty()) {
+            TextStyle.appendBoldText(content, "Steps:").append(NEW_LINE);
+            content.append(NEW_LINE);
+            appendTableOfSteps(content, test.steps()).append(NEW_LINE);
         }
 
-        if (testDoc.labels().length != 0) {
-            write.println(TextStyle.boldText("Labels:"));
-            write.println();
-
-            List<String> labelsWithLinks = createLabelsLink(testDoc.labels(), labelsFilesPath, classFilePath);
-
-            write.println(TextList.createUnorderedList(labelsWithLinks));
-            Arrays.stream(testDoc.labels()).forEach(label -> {
-                // Get the existing list or create a new one if the key doesn't exist
-                Map<String, String> existingMap = labelsMap.getOrDefault(label.value(), new TreeMap<>());
-                // Add the new value to the list
-                existingMap.put(methodName, classFilePath);
-
-                // Put the updated list back into the map
-                labelsMap.put(label.value(), existingMap);
-            });
+        if (!test.labels().isEmpty()) {
+            TextStyle.appendBoldText(content, "Labels:").append(NEW_LINE);
+            content.append(NEW_LINE);
+            appendLabelsLinks(content, test.labels(), labelsFilesPath, labelDescriptions).append(NEW_LINE);
+            test.labels().forEach(label -> labelIndex.add(label, className, test.methodName(), classFilePath));
         }
     }
 
     /**
      * Creates a single record for a test-suite (test-class)
      * The record contains: description, before tests execution steps, after tests execution steps, and use-cases obtained from the
-     * {@param suiteDoc}.
+     * {@param suite}.
      *
-     * @param write           file writer
-     * @param labelsFilesPath relative path to directory with labels files
-     * @param classFilePath   path to generated class file doc
-     * @param suiteDoc        annotation containing all @SuiteDoc objects, from which is the record generated
+     * @param content           buffer the record is appended to
+     * @param labelsFilesPath   relative path to directory with labels files
+     * @param labelDescriptions index of labels with existing description files
+     * @param suite             documentation of the test-suite, from which is the record generated
      */
-    public static void createSuiteRecord(PrintWriter write, String labelsFilesPath, String classFilePath, SuiteDoc suiteDoc) {
-        write.println();
-        write.println(TextStyle.boldText("Description:") + " " + suiteDoc.description().value());
-        write.println();
-        if (!Objects.equals(suiteDoc.contact().name(), "")) {
-            write.println(TextStyle.boldText("Contact:") + " `" + suiteDoc.contact().name() + " <" + suiteDoc.contact().email() + ">`");
-            write.println();
+    public static void createSuiteRecord(StringBuilder content, String labelsFilesPath, LabelDescriptions labelDescriptions, SuiteMetadata suite) {
+        content.append(NEW_LINE);
+        TextStyle.appendBoldText(content, "Description:").append(" ").append(suite.description()).append(NEW_LINE);
+        content.append(NEW_LINE);
+        if (!suite.contact().isEmpty()) {
+            TextStyle.appendBoldText(content, "Contact:").append(" `")
+                .append(suite.contact().name()).append(" <").append(suite.contact().email()).append(">`").append(NEW_LINE);
+            content.append(NEW_LINE);
         }
 
-        if (suiteDoc.beforeTestSteps().length != 0) {
-            write.println(TextStyle.boldText("Before test execution steps:"));
-            write.println();
-            write.println(createTableOfSteps(suiteDoc.beforeTestSteps()));
+        if (!suite.beforeTestSteps().isEmpty()) {
+            TextStyle.appendBoldText(content, "Before test execution steps:").append(NEW_LINE);
+            content.append(NEW_LINE);
+            appendTableOfSteps(content, suite.beforeTestSteps()).append(NEW_LINE);
         }
 
-        if (suiteDoc.afterTestSteps().length != 0) {
-            write.println(TextStyle.boldText("After test execution steps:"));
-            write.println();
-            write.println(createTableOfSteps(suiteDoc.afterTestSteps()));
+        if (!suite.afterTestSteps().isEmpty()) {
+            TextStyle.appendBoldText(content, "After test execution steps:").append(NEW_LINE);
+            content.append(NEW_LINE);
+            appendTableOfSteps(content, suite.afterTestSteps()).append(NEW_LINE);
         }
 
-        if (suiteDoc.labels().length != 0) {
-            write.println(TextStyle.boldText("Labels:"));
-            write.println();
-            write.println(TextList.createUnorderedList(createLabelsLink(suiteDoc.labels(), labelsFilesPath, classFilePath)));
+        if (!suite.labels().isEmpty()) {
+            TextStyle.appendBoldText(content, "Labels:").append(NEW_LINE);
+            content.append(NEW_LINE);
+            appendLabelsLinks(content, suite.labels(), labelsFilesPath, labelDescriptions).append(NEW_LINE);
         }
 
-        write.println(Line.horizontalLine());
+        Line.appendHorizontalLine(content).append(NEW_LINE);
     }
 
     /**
@@ -212,123 +256,186 @@ public class MdGenerator {
      * <li>Action - action done during the step</li>
      * <li>Result - expected result of the step</li></ul>
      *
-     * @param steps list of steps of the test-case
-     * @return String representation of table in Markdown
+     * The table is appended directly to the {@param content}.
+     *
+     * @param content buffer the table is appended to
+     * @param steps   list of steps of the test-case
+     * @return {@param content}
      */
-    private static String createTableOfSteps(Step[] steps) {
-        List<String> tableRows = new ArrayList<>();
-        List<String> headers = List.of("Step", "Action", "Result");
+    private static StringBuilder appendTableOfSteps(StringBuilder content, List<StepMetadata> steps) {
+        Table.appendHeader(content, STEPS_HEADERS);
 
-        for (int i = 0; i < steps.length; i++) {
-            tableRows.add(Table.createRow(i + 1 + ".", steps[i].value(), steps[i].expected()));
+        for (int i = 0; i < steps.size(); i++) {
+            Table.appendRow(content, i + 1 + ".", steps.get(i).value(), steps.get(i).expected());
         }
 
-        return Table.createTable(headers, tableRows);
-    }
-
-    /**
-     * Creates list of labels for the particular test-case in format - `label`
-     *
-     * @param labels list of labels from the {@link TestDoc} annotation
-     * @return list of labels in {@link List<String>}
-     */
-    private static List<String> createLabels(Label[] labels) {
-        List<String> usesText = new ArrayList<>();
-        Arrays.stream(labels).forEach(testLabel -> usesText.add("`" + testLabel.value() + "`"));
-
-        return usesText;
+        return content;
     }
 
     /**
-     * Creates list of full labels related data pasted to md file.
+     * Appends unordered list of labels, with links to their description files, to the md file content.
      *
-     * @param labels         list of labels
-     * @param labelsFilePath path to directory with labels description
-     * @param classFilePath  path to final md file
-     * @return list of final String for each label
+     * @param content           buffer the list is appended to
+     * @param labels            list of labels
+     * @param labelsFilePath    relative path to directory with labels description
+     * @param labelDescriptions index of labels with existing description files
+     * @return {@param content}
      */
-    private static List<String> createLabelsLink(Label[] labels, String labelsFilePath, String classFilePath) {
-        List<String> labelsWithLinks = new ArrayList<>();
+    private static StringBuilder appendLabelsLinks(StringBuilder content, List<String> labels, String labelsFilePath,
+                                                   LabelDescriptions labelDescriptions) {
+        return TextList.appendUnorderedList(content, labels, (out, label) -> {
+            String pureLabel = label.replace("`", "");
 
-        Arrays.stream(labels).forEach(label -> {
-            String pureLabel = label.value().replace("`", "");
-            Path path = Paths.get(classFilePath);
-
-            if (new File(path.getParent() + "/" + labelsFilePath + "/" + pureLabel + ".md").exists()) {
-                labelsWithLinks.add("[" + pureLabel + "](" + labelsFilePath + "/" + pureLabel + ".md)");
+            if (labelDescriptions.hasDescription(pureLabel)) {
+                out.append('[').append(pureLabel).append("](").append(labelsFilePath).append('/').append(pureLabel).append(".md)");
             } else {
-                labelsWithLinks.add("`" + pureLabel + "` (description file doesn't exist)");
+                out.append('`').append(pureLabel).append("` (description file doesn't exist)");
             }
         });
-
-        return labelsWithLinks;
     }
 
     /**
-     * Update label file that is available in the docs dir
+     * Update label file that is available in the docs dir.
+     * The file is read once and the generated part marker is found by scanning its bytes. Everything up to the end of
+     * the line with the marker is kept, and only the generated tail after it is rewritten, in case that it differs.
+     * When the marker is missing, it is appended together with the generated tail to the end of the file.
      *
      * @param labelFilePath path to label file within docs dir
      * @param updatedData   data that will be put into the file
+     * @return result of writing the file, the file is not written when its content stays the same
      */
-    private static void updateLabelFile(String labelFilePath, String updatedData) {
+    private static WriteResult updateLabelFile(String labelFilePath, String updatedData) {
         try {
-            File markdownFile = new File(labelFilePath);
-            StringBuilder fileContent = new StringBuilder();
-            boolean foundGeneratedPart = false;
-
-            try (BufferedReader reader = new BufferedReader(new FileReader(markdownFile, StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.contains("<!-- generated part -->")) {
-                        foundGeneratedPart = true;
-                        fileContent.append(line).append("\n");
-                        break;
-                    }
-                    fileContent.append(line).append("\n");
+            Path path = Path.of(labelFilePath);
+            byte[] content = Files.readAllBytes(path);
+            byte[] tail = (updatedData + "\n").getBytes(StandardCharsets.UTF_8);
+
+            int markerIndex = indexOf(content, GENERATED_PART_MARKER);
+
+            if (markerIndex < 0) {
+                ByteBuffer fileContent = ByteBuffer.allocate(content.length + 1 + GENERATED_PART.length + tail.length);
+                fileContent.put(content);
+                // description without the marker has to end with the new line before the marker is added
+                if (content.length > 0 && content[content.length - 1] != '\n') {
+                    fileContent.put((byte) '\n');
                 }
+                fileContent.put(GENERATED_PART).put(tail).flip();
+
+                return writeFrom(path, 0, fileContent);
             }
 
-            if (!foundGeneratedPart) {
-                fileContent.append("\n<!-- generated part -->\n");
+            // the generated tail starts on the line after the marker
+            int tailIndex = indexOf(content, NEW_LINE_BYTES, markerIndex);
+            if (tailIndex < 0) {
+                ByteBuffer fileContent = ByteBuffer.allocate(1 + tail.length).put((byte) '\n').put(tail).flip();
+                return writeFrom(path, content.length, fileContent);
             }
-            // Append the new content
-            fileContent.append(updatedData).append("\n");
-            // Write the updated content back to the file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(markdownFile, StandardCharsets.UTF_8))) {
-                writer.write(fileContent.toString());
+            tailIndex++;
+
+            if (Arrays.equals(content, tailIndex, content.length, tail, 0, tail.length)) {
+                return WriteResult.UNCHANGED;
             }
-            System.out.println("Content of %s updated successfully!".formatted(labelFilePath));
 
+            return writeFrom(path, tailIndex, ByteBuffer.wrap(tail));
         } catch (IOException e) {
             throw new RuntimeException("Failed to update label file: " + labelFilePath, e);
         }
     }
 
     /**
-     * Updates links in existing labels files with corresponding testcases that covers the use-case
+     * Writes {@param data} into the existing file from the {@param position}, and truncates everything after them.
+     * Content of the file before the {@param position} is not touched.
      *
-     * @param docsPath path where all test docs are stored
+     * @param path     path of the file
+     * @param position position in the file, from which the data are written
+     * @param data     data written to the end of the file
+     * @return {@link WriteResult#WRITTEN}
+     * @throws IOException during writing of the file
      */
-    public static void updateLinksInLabels(String docsPath) {
-        String labelsPath = docsPath + LABELS;
+    private static WriteResult writeFrom(Path path, long position, ByteBuffer data) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            long end = position + data.remaining();
+            while (data.hasRemaining()) {
+                position += channel.write(data, position);
+            }
+            channel.truncate(end);
+        }
 
-        if (Files.exists(new File(labelsPath).toPath())) {
-            for (Map.Entry<String, Map<String, String>> entry : MdGenerator.labelsMap.entrySet()) {
-                String labelsFile = labelsPath + "/" + entry.getKey() + ".md";
+        return WriteResult.WRITTEN;
+    }
 
-                if (Files.exists(new File(labelsFile).toPath())) {
-                    StringBuilder newText = new StringBuilder("**Tests:**");
-                    for (Map.Entry<String, String> item : entry.getValue().entrySet()) {
-                        String data = String.format("[%s](%s%s)", item.getKey(), "../", item.getValue().replace(docsPath, ""));
-                        newText.append("\n- ").append(data);
-                    }
+    private static int indexOf(byte[] content, byte[] pattern) {
+        return indexOf(content, pattern, 0);
+    }
 
-                    MdGenerator.updateLabelFile(labelsFile, newText.toString());
-                } else {
-                    System.out.printf("Label file %s doesn't exists. Skipping it.%n", labelsFile);
-                }
+    private static int indexOf(byte[] content, byte[] pattern, int fromIndex) {
+        for (int i = fromIndex; i <= content.length - pattern.length; i++) {
+            if (Arrays.equals(content, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
             }
         }
+        return -1;
+    }
+
+    /**
+     * Updates links in existing labels files with corresponding testcases that covers the use-case.
+     * Label files are independent of each other, so they are updated in parallel, and results are returned
+     * in the order of labels afterward, so the caller can report them.
+     *
+     * @param docsPath          path where all test docs are stored
+     * @param labelIndex        index of labels collected during the generation of test-classes documentation
+     * @param labelDescriptions index of labels with existing description files
+     * @param statistics        statistics updated with results of writing the label files
+     * @return sorted map with path of the label file as a key and result of its update as value,
+     * {@link WriteResult#EMPTY} for labels without description file
+     */
+    public static SortedMap<String, WriteResult> updateLinksInLabels(String docsPath, LabelIndex labelIndex, LabelDescriptions labelDescriptions,
+                                                                     WriteStatistics statistics) {
+        return updateLinksInLabels(docsPath, labelIndex, labelIndex.getLabels().keySet(), labelDescriptions, statistics);
+    }
+
+    /**
+     * Updates links in existing labels files of the {@param labels} only.
+     * Labels without any test-case in the {@param labelIndex} get empty list of tests, so links to the removed test-cases
+     * are dropped from their files.
+     *
+     * @param docsPath          path where all test docs are stored
+     * @param labelIndex        index of labels collected during the generation of test-classes documentation
+     * @param labels            labels, which files should be updated
+     * @param labelDescriptions index of labels with existing description files
+     * @param statistics        statistics updated with results of writing the label files
+     * @return sorted map with path of the label file as a key and result of its update as value,
+     * {@link WriteResult#EMPTY} for labels without description file
+     */
+    public static SortedMap<String, WriteResult> updateLinksInLabels(String docsPath, LabelIndex labelIndex, Set<String> labels,
+                                                                     LabelDescriptions labelDescriptions, WriteStatistics statistics) {
+        String labelsPath = docsPath + LABELS;
+
+        if (labelDescriptions.getLabels().isEmpty()) {
+            return new TreeMap<>();
+        }
+
+        NavigableMap<String, NavigableSet<LabelIndex.TestReference>> tests = labelIndex.getLabels();
+        SortedMap<String, WriteResult> results = labels.parallelStream()
+            .map(label -> {
+                String labelsFile = labelsPath + "/" + label + ".md";
+
+                if (!labelDescriptions.hasDescription(label)) {
+                    return Map.entry(labelsFile, WriteResult.EMPTY);
+                }
+
+                StringBuilder newText = new StringBuilder("**Tests:**");
+                for (LabelIndex.TestReference test : tests.getOrDefault(label, Collections.emptyNavigableSet())) {
+                    String data = String.format("[%s](%s%s)", test.methodName(), "../", test.docFilePath().replace(docsPath, ""));
+                    newText.append("\n- ").append(data);
+                }
+
+                return Map.entry(labelsFile, MdGenerator.updateLabelFile(labelsFile, newText.toString()));
+            })
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first, TreeMap::new));
+
+        results.values().forEach(statistics::record);
+        return results;
     }
 
     /**
@@ -0,0 +1,207 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.Utils;
+import io.skodjob.common.WriteResult;
+import io.skodjob.common.WriteStatistics;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates lists of test-cases covering each label, which can be passed directly to Surefire or Failsafe,
+ * so CI doesn't have to load all test-classes to filter them by labels.
+ * Each line of the generated files contains one test-case in {@code FQCN#method} format, which is accepted by
+ * {@code -Dsurefire.includesFile} (and, joined by commas, by {@code -Dtest}).
+ */
+public class SelectionGenerator {
+
+    /**
+     * Name of the directory inside the docs directory, where the selection files are generated
+     */
+    public static final String SELECTION = "selection";
+
+    /**
+     * Weight of a test-case, for which no weight is known and no weights file is used
+     */
+    public static final double DEFAULT_WEIGHT = 1;
+
+    private static final String SHARDS = "shards";
+    private static final String SUFFIX = ".txt";
+
+    private SelectionGenerator() {
+        // constructor
+    }
+
+    /**
+     * Generates selection file for each label from {@param labelIndex} into {@code selection/<label>.txt}.
+     * In case that {@param shards} is greater than 1, test-cases of each label are also split into that many shards
+     * with similar total weight, generated into {@code selection/shards/<label>/shard-<n>.txt}.
+     * Selection files of labels, which are not used anymore, are deleted.
+     *
+     * @param docsPath   path to the root of the docs directory
+     * @param labelIndex labels and test-cases covering them
+     * @param shards     number of shards for each label, 0 or 1 for no shards
+     * @param weights    weights of the test-cases or test-classes, see {@link #loadWeights(Path)}
+     * @param statistics statistics of the current run, deleted files are recorded there
+     * @return map with path of each selection file as a key and result of its writing as value
+     * @throws IOException during writing or deleting of the files
+     */
+    public static Map<String, WriteResult> generate(String docsPath, LabelIndex labelIndex, int shards, Map<String, Double> weights,
+                                                    WriteStatistics statistics) throws IOException {
+        String selectionPath = docsPath + SELECTION;
+        Map<String, WriteResult> results = new TreeMap<>();
+
+        for (Map.Entry<String, NavigableSet<LabelIndex.TestReference>> entry : labelIndex.getLabels().entrySet()) {
+            List<String> tests = entry.getValue().stream().map(SelectionGenerator::testName).distinct().sorted().toList();
+
+            String labelFile = selectionPath + "/" + entry.getKey() + SUFFIX;
+            results.put(labelFile, Utils.writeFile(labelFile, toSelection(tests)));
+
+            if (shards > 1) {
+                List<List<String>> labelShards = shard(tests, shards, weights);
+                for (int i = 0; i < labelShards.size(); i++) {
+                    String shardFile = "%s/%s/%s/shard-%d%s".formatted(selectionPath, SHARDS, entry.getKey(), i + 1, SUFFIX);
+                    results.put(shardFile, Utils.writeFile(shardFile, toSelection(labelShards.get(i))));
+                }
+            }
+        }
+
+        deleteStaleFiles(Path.of(selectionPath), results, statistics);
+
+        return results;
+    }
+
+    /**
+     * Splits {@param tests} into {@param shards} lists with similar total weight. The heaviest test-cases are assigned
+     * first, each of them to the shard with the lowest total weight at that moment (longest processing time first).
+     * The result depends only on the test-cases and their weights, so all CI jobs compute the same shards.
+     *
+     * @param tests   test-cases in {@code FQCN#method} format
+     * @param shards  number of shards
+     * @param weights weights of the test-cases or test-classes
+     * @return list of {@param shards} sorted lists of test-cases, some of them may be empty
+     */
+    public static List<List<String>> shard(Collection<String> tests, int shards, Map<String, Double> weights) {
+        double defaultWeight = defaultWeight(weights);
+        Map<String, Double> testWeights = tests.stream()
+            .collect(Collectors.toMap(test -> test, test -> weightOf(test, weights, defaultWeight), (first, second) -> first));
+
+        List<List<String>> result = new ArrayList<>(shards);
+        double[] loads = new double[shards];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(shards,
+            Comparator.<Integer>comparingDouble(shard -> loads[shard]).thenComparing(shard -> shard));
+        for (int i = 0; i < shards; i++) {
+            result.add(new ArrayList<>());
+            leastLoaded.add(i);
+        }
+
+        testWeights.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .forEach(test -> {
+                int shard = leastLoaded.poll();
+                result.get(shard).add(test.getKey());
+                loads[shard] += test.getValue();
+                leastLoaded.add(shard);
+            });
+
+        result.forEach(shard -> shard.sort(Comparator.naturalOrder()));
+        return result;
+    }
+
+    /**
+     * Loads weights of test-cases from {@param weightsFile} in properties format. Key is either test-case in
+     * {@code FQCN#method} format, or test-class in {@code FQCN} format, which is used for all of its test-cases
+     * without their own weight. Value is any non-negative number, f.e. duration of the test-case in seconds.
+     *
+     * @param weightsFile path to the file with weights
+     * @return weights of test-cases and test-classes
+     * @throws IOException in case that the file cannot be read or it contains invalid weight
+     */
+    public static Map<String, Double> loadWeights(Path weightsFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(weightsFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, Double> weights = new HashMap<>();
+        for (String test : properties.stringPropertyNames()) {
+            try {
+                double weight = Double.parseDouble(properties.getProperty(test).trim());
+                if (weight < 0 || !Double.isFinite(weight)) {
+                    throw new NumberFormatException();
+                }
+                weights.put(test, weight);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid weight of %s in %s: %s".formatted(test, weightsFile, properties.getProperty(test)), e);
+            }
+        }
+
+        return weights;
+    }
+
+    private static String testName(LabelIndex.TestReference test) {
+        return test.className() + "#" + test.methodName();
+    }
+
+    private static String toSelection(List<String> tests) {
+        StringBuilder content = new StringBuilder();
+        tests.forEach(test -> content.append(test).append('\n'));
+        return content.toString();
+    }
+
+    private static double weightOf(String test, Map<String, Double> weights, double defaultWeight) {
+        Double weight = weights.get(test);
+        if (weight == null) {
+            weight = weights.get(test.substring(0, test.indexOf('#')));
+        }
+        return weight != null ? weight : defaultWeight;
+    }
+
+    /**
+     * New test-cases without known weight are considered as average ones, not as test-cases without any cost
+     */
+    private static double defaultWeight(Map<String, Double> weights) {
+        return weights.values().stream().mapToDouble(Double::doubleValue).average().orElse(DEFAULT_WEIGHT);
+    }
+
+    private static void deleteStaleFiles(Path selectionPath, Map<String, WriteResult> currentFiles, WriteStatistics statistics) throws IOException {
+        if (!Files.isDirectory(selectionPath)) {
+            return;
+        }
+
+        Set<Path> current = currentFiles.keySet().stream().map(file -> Path.of(file).toAbsolutePath().normalize()).collect(Collectors.toSet());
+        List<Path> staleFiles;
+        try (Stream<Path> files = Files.walk(selectionPath)) {
+            staleFiles = files.filter(Files::isRegularFile)
+                .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                .filter(file -> !current.contains(file.toAbsolutePath().normalize()))
+                .toList();
+        }
+
+        for (Path file : staleFiles) {
+            Files.delete(file);
+            statistics.recordDeleted();
+        }
+    }
+}
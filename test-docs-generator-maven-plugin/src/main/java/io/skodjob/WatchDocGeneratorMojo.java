@@ -0,0 +1,326 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import io.skodjob.common.GenerationMetrics;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteStatistics;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.renderer.DocRenderer;
+import io.skodjob.scanner.MetadataScanner;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Generates documentation of test-classes inside a single module and then keeps it up-to-date while the test-classes
+ * are being changed. Test output directory and {@link #testsPath} are watched for changes, and once the changes settle
+ * down, only the changed test-classes are read again using a new class loader and their documentation is generated.
+ * Labels files are updated only for the labels of the changed test-classes, while the metadata index and the selection
+ * files (when enabled) are written again from all test-classes.
+ * Test-classes have to be compiled by other means, f.e. by the IDE or by {@code mvn test-compile} in other terminal,
+ * new test-classes are documented once their class files exist.
+ */
+@Mojo(
+    name = "test-docs-generator-watch",
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME
+)
+public class WatchDocGeneratorMojo extends DocGeneratorMojo {
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String SOURCE_SUFFIX = ".java";
+
+    /**
+     * Time in milliseconds without any change of the watched files, after which the changed test-classes are generated.
+     * All changes done in the meantime, f.e. by a single compilation, are generated at once.
+     */
+    @Parameter(property = "watchDebounce", defaultValue = "300", required = false, readonly = false)
+    long watchDebounce;
+
+    /**
+     * Constructor
+     */
+    public WatchDocGeneratorMojo() {
+        // constructor
+    }
+
+    @Override
+    void afterGeneration(Map<String, String> testClasses, LabelIndex labelIndex, LabelDescriptions labelDescriptions,
+                         Map<String, ClassMetadata> indexedClasses) throws MojoExecutionException {
+        Path testOutputDirectory = Path.of(project.getBuild().getTestOutputDirectory());
+        Map<String, String> currentClasses = new TreeMap<>(testClasses);
+        Map<WatchKey, Path> directories = new HashMap<>();
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            for (Path directory : List.of(testOutputDirectory, Path.of(testsPath))) {
+                register(watchService, directory, directories);
+            }
+            getLog().info("Watching %s and %s for changes, press Ctrl+C to stop".formatted(testOutputDirectory, testsPath));
+
+            while (true) {
+                Changes changes = awaitChanges(watchService, directories);
+                currentClasses = regenerate(changes, testOutputDirectory, currentClasses, labelIndex, labelDescriptions, indexedClasses);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot watch test-classes for changes", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLog().info("Watching stopped");
+        }
+    }
+
+    /**
+     * Registers {@param directory} and all of its subdirectories to the {@param watchService}
+     *
+     * @param watchService watch service
+     * @param directory    root of the watched tree
+     * @param directories  watched directories by their keys
+     * @throws IOException in case that the directory cannot be registered
+     */
+    private static void register(WatchService watchService, Path directory, Map<WatchKey, Path> directories) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Path> subdirectories;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            subdirectories = paths.filter(Files::isDirectory).toList();
+        }
+
+        for (Path subdirectory : subdirectories) {
+            WatchKey key = subdirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            directories.put(key, subdirectory);
+        }
+    }
+
+    /**
+     * Waits for the first change of the watched files and collects all changes until no other change
+     * happens for {@link #watchDebounce} milliseconds
+     *
+     * @param watchService watch service
+     * @param directories  watched directories by their keys, new directories are registered as well
+     * @return changed files together with the created and deleted ones, or null in case that some changes were lost
+     *         and everything has to be generated
+     * @throws IOException          in case that new directory cannot be registered
+     * @throws InterruptedException in case that the waiting was interrupted
+     */
+    private Changes awaitChanges(WatchService watchService, Map<WatchKey, Path> directories) throws IOException, InterruptedException {
+        Set<Path> changes = new TreeSet<>();
+        Set<Path> addedOrRemoved = new TreeSet<>();
+        boolean overflow = false;
+        WatchKey key = watchService.take();
+
+        while (key != null) {
+            Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    overflow = true;
+                    continue;
+                }
+
+                Path changed = directory.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                    register(watchService, changed, directories);
+                    // files created before the registration of the directory are not reported
+                    overflow = true;
+                }
+                changes.add(changed);
+                if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY) {
+                    addedOrRemoved.add(changed);
+                }
+            }
+
+            if (!key.reset()) {
+                directories.remove(key);
+            }
+            key = watchService.poll(watchDebounce, TimeUnit.MILLISECONDS);
+        }
+
+        return overflow ? null : new Changes(changes, addedOrRemoved);
+    }
+
+    /**
+     * Generates documentation of the test-classes affected by {@param changes} and updates labels files of their labels
+     *
+     * @param changes             changed files, or null for all test-classes
+     * @param testOutputDirectory directory with compiled test-classes
+     * @param testClasses         test-classes documented before the changes
+     * @param labelIndex          labels and test-cases covering them, updated by the changes
+     * @param labelDescriptions   label description files found in the docs directory
+     * @param indexedClasses      documentation of the test-classes in the index by their names, updated by the changes,
+     *                            null in case that the index is not generated
+     * @return test-classes documented after the changes
+     * @throws IOException            in case that the scanner cannot be closed
+     * @throws MojoExecutionException in case that the scanner cannot be created, or the index or selection cannot be written
+     */
+    private Map<String, String> regenerate(Changes changes, Path testOutputDirectory, Map<String, String> testClasses,
+                                           LabelIndex labelIndex, LabelDescriptions labelDescriptions,
+                                           Map<String, ClassMetadata> indexedClasses) throws IOException, MojoExecutionException {
+        GenerationMetrics metrics = new GenerationMetrics();
+        Map<String, String> currentClasses = testClasses;
+
+        // only added or removed sources change the list of test-classes, content of the classes is taken from class files
+        if (changes == null || changes.addedOrRemoved().stream().anyMatch(path -> path.toString().endsWith(SOURCE_SUFFIX))) {
+            currentClasses = new TreeMap<>(findTestClasses(excludes == null ? List.of() : excludes));
+        }
+
+        // test-cases of removed and changed test-classes are removed from the label index
+        Set<String> outdatedClasses = new TreeSet<>();
+        List<DocRenderer> renderers = createRenderers(labelDescriptions);
+        for (Map.Entry<String, String> removed : testClasses.entrySet()) {
+            if (!currentClasses.containsKey(removed.getKey())) {
+                outdatedClasses.add(removed.getValue());
+                deleteDocs(removed.getKey(), renderers, metrics.getWriteStatistics());
+            }
+        }
+
+        Set<String> changedClasses = findChangedClasses(changes, testOutputDirectory, testClasses, currentClasses);
+        for (String filename : changedClasses) {
+            outdatedClasses.add(currentClasses.get(filename));
+        }
+        // changed test-classes are added to the index again once they are read, empty ones are left out
+        if (indexedClasses != null) {
+            outdatedClasses.forEach(indexedClasses::remove);
+        }
+
+        // new class loader is created for every batch of changes, so the changed test-classes are loaded again
+        LabelIndex changedLabels = new LabelIndex();
+        try (MetadataScanner metadataScanner = createScanner(metrics)) {
+            for (String filename : changedClasses) {
+                generate(metadataScanner, filename, currentClasses.get(filename), changedLabels, renderers, null, indexedClasses, null, metrics);
+            }
+        }
+
+        if (indexedClasses != null && !outdatedClasses.isEmpty()) {
+            writeIndex(indexedClasses.values(), metrics);
+        }
+
+        // only labels files of labels with changed test-cases are updated, including the labels without any test-case left
+        Set<String> labels = updateLabelIndex(labelIndex, outdatedClasses, changedLabels);
+        logLabelFiles(MdGenerator.updateLinksInLabels(docsPath, labelIndex, labels, labelDescriptions, metrics.getWriteStatistics()));
+
+        if (generateSelection && !labels.isEmpty()) {
+            generateSelection(labelIndex, metrics);
+        }
+
+        WriteStatistics statistics = metrics.getWriteStatistics();
+        if (!changedClasses.isEmpty() || statistics.getDeleted() > 0) {
+            getLog().info("Generated %d test-class(es) in %d ms, files written: %d, unchanged: %d, deleted: %d".formatted(
+                changedClasses.size(), metrics.getTotalMillis(), statistics.getWritten(), statistics.getUnchanged(), statistics.getDeleted()));
+        }
+
+        return currentClasses;
+    }
+
+    /**
+     * Finds test-classes, which have to be documented again - the new ones and the ones with changed class files.
+     * Test-classes without class file are deferred until they are compiled, their previous documentation is kept.
+     *
+     * @param changes             changed files, or null for all test-classes
+     * @param testOutputDirectory directory with compiled test-classes
+     * @param testClasses         test-classes documented before the changes
+     * @param currentClasses      test-classes after the changes
+     * @return sorted paths of the documentation files (without suffix) of the changed test-classes
+     */
+    private Set<String> findChangedClasses(Changes changes, Path testOutputDirectory, Map<String, String> testClasses,
+                                           Map<String, String> currentClasses) {
+        Set<String> changedClasses = new TreeSet<>();
+
+        for (Map.Entry<String, String> testClass : currentClasses.entrySet()) {
+            if (changes == null || !testClasses.containsKey(testClass.getKey())
+                || isChanged(testClass.getValue(), changes.files(), testOutputDirectory)) {
+                if (isCompiled(testClass.getValue(), testOutputDirectory)) {
+                    changedClasses.add(testClass.getKey());
+                } else {
+                    getLog().debug("Deferring %s until it is compiled".formatted(testClass.getValue()));
+                }
+            }
+        }
+
+        return changedClasses;
+    }
+
+    /**
+     * Replaces test-cases of the {@param outdatedClasses} inside the {@param labelIndex} by the {@param changedLabels}
+     *
+     * @param labelIndex      labels and test-cases covering them, updated by the changes
+     * @param outdatedClasses names of the removed and changed test-classes
+     * @param changedLabels   labels of the test-cases of the changed test-classes
+     * @return sorted set of labels, which test-cases were changed - labels without any test-case left are included as well
+     */
+    static Set<String> updateLabelIndex(LabelIndex labelIndex, Set<String> outdatedClasses, LabelIndex changedLabels) {
+        Set<String> labels = new TreeSet<>();
+
+        outdatedClasses.forEach(className -> labels.addAll(labelIndex.removeClass(className)));
+        labels.addAll(changedLabels.getLabels().keySet());
+        labelIndex.addAll(changedLabels);
+
+        return labels;
+    }
+
+    /**
+     * Checks whether class file of {@param className} or any of its nested classes is among the {@param changes}
+     */
+    private static boolean isChanged(String className, Set<Path> changes, Path testOutputDirectory) {
+        String classFile = className.replace('.', File.separatorChar);
+        Path directory = testOutputDirectory.resolve(classFile).getParent();
+        String simpleName = classFile.substring(classFile.lastIndexOf(File.separatorChar) + 1);
+
+        return changes.stream()
+            .filter(path -> directory.equals(path.getParent()))
+            .map(path -> path.getFileName().toString())
+            .anyMatch(name -> name.equals(simpleName + CLASS_SUFFIX) || name.startsWith(simpleName + "$") && name.endsWith(CLASS_SUFFIX));
+    }
+
+    /**
+     * Checks whether the class file of {@param className} exists, new test-classes can be listed from their sources
+     * before they are compiled
+     */
+    private static boolean isCompiled(String className, Path testOutputDirectory) {
+        return Files.isRegularFile(testOutputDirectory.resolve(className.replace('.', File.separatorChar) + CLASS_SUFFIX));
+    }
+
+    private void deleteDocs(String filename, List<DocRenderer> renderers, WriteStatistics statistics) {
+        for (String file : renderers.stream().map(renderer -> renderer.getFilePath(filename)).toList()) {
+            try {
+                if (Files.deleteIfExists(Path.of(file))) {
+                    statistics.recordDeleted();
+                }
+            } catch (IOException e) {
+                getLog().warn("Cannot delete %s".formatted(file), e);
+            }
+        }
+    }
+
+    /**
+     * Changes of the watched files collected by a single wait
+     *
+     * @param files          all changed files
+     * @param addedOrRemoved files, which were created or deleted
+     */
+    private record Changes(Set<Path> files, Set<Path> addedOrRemoved) {
+    }
+}
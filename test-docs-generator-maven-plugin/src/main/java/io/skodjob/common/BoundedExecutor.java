@@ -0,0 +1,106 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executor with a limited number of tasks in flight (queued or running). Submitting a task blocks until one of the
+ * previous tasks finishes, so the producer of the tasks never gets far ahead of the workers and memory used by
+ * the pending tasks stays the same no matter how many tasks are submitted in total.
+ * No result of finished tasks is kept, only the first failure, which is reported by the next call of
+ * {@link #submit(Runnable)} or {@link #awaitAll()}.
+ */
+public class BoundedExecutor implements AutoCloseable {
+
+    private static final long TERMINATION_TIMEOUT_SECONDS = 30;
+
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Creates executor with {@param threads} worker threads
+     *
+     * @param threads     number of worker threads
+     * @param maxInFlight maximal number of submitted tasks, which are not finished yet
+     */
+    public BoundedExecutor(int threads, int maxInFlight) {
+        if (maxInFlight < threads) {
+            throw new IllegalArgumentException("Number of tasks in flight %d is lower than number of threads %d".formatted(maxInFlight, threads));
+        }
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Submits the {@param task}, waits in case that there are already too many tasks in flight
+     *
+     * @param task task to be executed
+     * @throws InterruptedException in case that the waiting was interrupted
+     * @throws ExecutionException   in case that any of the previous tasks failed, no other task is submitted then
+     */
+    public void submit(Runnable task) throws InterruptedException, ExecutionException {
+        checkFailure();
+        inFlight.acquire();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until all submitted tasks are finished
+     *
+     * @throws InterruptedException in case that the waiting was interrupted
+     * @throws ExecutionException   in case that any of the tasks failed
+     */
+    public void awaitAll() throws InterruptedException, ExecutionException {
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        checkFailure();
+    }
+
+    private void checkFailure() throws ExecutionException {
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new ExecutionException(cause);
+        }
+    }
+
+    /**
+     * Stops all worker threads, tasks that are still running are interrupted. Waits (for limited time) until the
+     * interrupted tasks finish, so resources used by the tasks can be safely closed once this method returns.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+
+        try {
+            // tasks ignoring the interruption for too long are left running, so the original failure is not hidden
+            executor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache of the resolved dependency classpath stored between builds.
+ * The cache file contains the key (hash of the project dependencies) on the first line, followed by paths of all
+ * resolved artifacts, one per line. Paths of SNAPSHOT artifacts are stored together with their size and modification
+ * time, because a rebuilt SNAPSHOT can bring different transitive dependencies without any change of the key.
+ * The cache is valid only for the same key, only when all artifacts still exist, and only when none of the SNAPSHOT
+ * artifacts was changed.
+ */
+public class ClasspathCache {
+
+    private static final String ARTIFACT_PREFIX = "A ";
+    private static final String SNAPSHOT_PREFIX = "S ";
+
+    /**
+     * Constructor
+     */
+    private ClasspathCache() {
+        // constructor
+    }
+
+    /**
+     * Reads the cached classpath from {@param cacheFile}
+     *
+     * @param cacheFile path to the cache file
+     * @param key       hash of the project dependencies, which the cache has to match
+     * @return cached classpath, or empty in case that the cache doesn't exist, is for different key, or is stale
+     */
+    public static Optional<List<Path>> read(Path cacheFile, String key) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+
+            if (lines.isEmpty() || !lines.get(0).equals(key)) {
+                return Optional.empty();
+            }
+
+            List<Path> classpath = new ArrayList<>();
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.startsWith(ARTIFACT_PREFIX)) {
+                    classpath.add(Path.of(line.substring(ARTIFACT_PREFIX.length())));
+                } else if (line.startsWith(SNAPSHOT_PREFIX)) {
+                    String[] parts = line.substring(SNAPSHOT_PREFIX.length()).split(" ", 2);
+                    Path snapshot = Path.of(parts[1]);
+                    if (!parts[0].equals(fingerprint(snapshot))) {
+                        return Optional.empty();
+                    }
+                    classpath.add(snapshot);
+                } else {
+                    return Optional.empty();
+                }
+            }
+
+            // artifacts could be removed from the local repository in the meantime
+            return classpath.stream().allMatch(Files::exists) ? Optional.of(classpath) : Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            // broken cache just means that the dependencies are resolved again
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the {@param classpath} into {@param cacheFile}
+     *
+     * @param cacheFile path to the cache file
+     * @param key       hash of the project dependencies
+     * @param classpath resolved artifacts
+     * @param snapshots resolved artifacts, which are SNAPSHOTs
+     * @throws IOException during writing of the file
+     */
+    public static void write(Path cacheFile, String key, List<Path> classpath, Set<Path> snapshots) throws IOException {
+        StringBuilder content = new StringBuilder(key).append('\n');
+        for (Path path : classpath) {
+            if (snapshots.contains(path)) {
+                content.append(SNAPSHOT_PREFIX).append(fingerprint(path)).append(' ');
+            } else {
+                content.append(ARTIFACT_PREFIX);
+            }
+            content.append(path.toAbsolutePath()).append('\n');
+        }
+
+        Utils.writeFile(cacheFile.toString(), content);
+    }
+
+    /**
+     * Size and modification time of the {@param artifact}, which change when the artifact is rebuilt or downloaded again
+     */
+    private static String fingerprint(Path artifact) throws IOException {
+        return Files.size(artifact) + ":" + Files.getLastModifiedTime(artifact).toMillis();
+    }
+}
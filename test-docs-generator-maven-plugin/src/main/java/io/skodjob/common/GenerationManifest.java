@@ -0,0 +1,251 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manifest of the previous generation run used for incremental generation.
+ * For each test-class it stores hash of its content, generated files, labels of its test-cases, and whether it has any
+ * documentation, so unchanged test-classes don't have to be loaded and rendered again, and docs of removed test-classes
+ * can be deleted.
+ */
+public class GenerationManifest {
+
+    private static final int VERSION = 1;
+    private static final String VERSION_KEY = "version";
+    private static final String CONFIGURATION_KEY = "configuration";
+    private static final String CLASSES_KEY = "classes";
+    private static final String HASH_KEY = "hash";
+    private static final String FILES_KEY = "files";
+    private static final String LABELS_KEY = "labels";
+    private static final String EMPTY_KEY = "empty";
+    private static final String LABEL_KEY = "label";
+    private static final String METHOD_KEY = "method";
+    private static final String PATH_KEY = "path";
+
+    private final String configuration;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private GenerationManifest(String configuration, Map<String, Entry> previous) {
+        this.configuration = configuration;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the manifest from {@param manifestFile}. In case that the file doesn't exist, cannot be parsed, or it was
+     * created for different {@param configuration}, empty manifest is returned and all test-classes are generated.
+     *
+     * @param manifestFile  path to the manifest file
+     * @param configuration hash of the generator configuration, which the manifest has to match
+     * @return loaded manifest
+     */
+    public static GenerationManifest load(Path manifestFile, String configuration) {
+        Map<String, Entry> previous = new TreeMap<>();
+
+        if (Files.exists(manifestFile)) {
+            try (Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+                Object content = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+
+                if (content instanceof Map<?, ?> data
+                    && Objects.equals(data.get(VERSION_KEY), VERSION)
+                    && Objects.equals(data.get(CONFIGURATION_KEY), configuration)
+                    && data.get(CLASSES_KEY) instanceof Map<?, ?> classes) {
+                    classes.forEach((className, entry) -> previous.put(String.valueOf(className), parseEntry((Map<?, ?>) entry)));
+                }
+            } catch (IOException | RuntimeException e) {
+                // broken manifest just means that everything is generated again
+                previous.clear();
+            }
+        }
+
+        return new GenerationManifest(configuration, previous);
+    }
+
+    /**
+     * Checks whether the test-class is unchanged since the previous run and all of its generated files still exist.
+     * In that case, the entry is carried over to the new manifest and labels of its test-cases are added to {@param labelIndex}.
+     *
+     * @param className  name of the test-class
+     * @param hash       current hash of the test-class, or null in case that it cannot be computed
+     * @param labelIndex index of labels for the current run
+     * @return true if the test-class doesn't have to be generated again, false otherwise
+     */
+    public boolean reuse(String className, String hash, LabelIndex labelIndex) {
+        Entry entry = previous.get(className);
+
+        if (hash == null || entry == null || !hash.equals(entry.hash())
+            || !entry.files().stream().allMatch(file -> Files.exists(Path.of(file)))) {
+            return false;
+        }
+
+        entry.labels().forEach(label -> labelIndex.add(label.label(), className, label.methodName(), label.docFilePath()));
+        current.put(className, entry);
+
+        return true;
+    }
+
+    /**
+     * Checks whether the test-class didn't have any documentation in the previous run
+     *
+     * @param className name of the test-class
+     * @return true if the test-class was recorded as empty, false otherwise
+     */
+    public boolean wasEmpty(String className) {
+        Entry entry = previous.get(className);
+        return entry != null && entry.empty();
+    }
+
+    /**
+     * Records the newly generated test-class into the manifest
+     *
+     * @param className   name of the test-class
+     * @param hash        hash of the test-class, or null in case that it cannot be computed
+     * @param files       files generated for the test-class
+     * @param classLabels labels of the test-cases inside the test-class
+     * @param empty       whether the test-class doesn't have any documentation
+     */
+    public void record(String className, String hash, List<String> files, LabelIndex classLabels, boolean empty) {
+        if (hash == null) {
+            return;
+        }
+
+        List<LabelEntry> labels = new ArrayList<>();
+        classLabels.getLabels().forEach((label, tests) ->
+            tests.forEach(test -> labels.add(new LabelEntry(label, test.methodName(), test.docFilePath()))));
+
+        current.put(className, new Entry(hash, List.copyOf(files), labels, empty));
+    }
+
+    /**
+     * Returns files generated in the previous run for test-classes that are not present anymore
+     *
+     * @param currentClasses names of all test-classes in the current run
+     * @return set of files that should be deleted
+     */
+    public Set<String> getFilesOfRemovedClasses(Set<String> currentClasses) {
+        Set<String> files = new TreeSet<>();
+
+        previous.forEach((className, entry) -> {
+            if (!currentClasses.contains(className)) {
+                files.addAll(entry.files());
+            }
+        });
+
+        return files;
+    }
+
+    /**
+     * Saves the manifest of the current run to {@param manifestFile}
+     *
+     * @param manifestFile path to the manifest file
+     * @throws IOException during writing of the file
+     */
+    public void save(Path manifestFile) throws IOException {
+        Map<String, Object> classes = new LinkedHashMap<>();
+        new TreeMap<>(current).forEach((className, entry) -> {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put(HASH_KEY, entry.hash());
+            data.put(FILES_KEY, entry.files());
+            data.put(LABELS_KEY, entry.labels().stream().map(label -> {
+                Map<String, String> labelData = new LinkedHashMap<>();
+                labelData.put(LABEL_KEY, label.label());
+                labelData.put(METHOD_KEY, label.methodName());
+                labelData.put(PATH_KEY, label.docFilePath());
+                return labelData;
+            }).toList());
+            data.put(EMPTY_KEY, entry.empty());
+            classes.put(className, data);
+        });
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put(VERSION_KEY, VERSION);
+        manifest.put(CONFIGURATION_KEY, configuration);
+        manifest.put(CLASSES_KEY, classes);
+
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+
+        if (manifestFile.getParent() != null) {
+            Files.createDirectories(manifestFile.getParent());
+        }
+
+        try (Writer writer = Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8)) {
+            new Yaml(options).dump(manifest, writer);
+        }
+    }
+
+    /**
+     * Computes SHA-256 hash of the {@param file} content
+     *
+     * @param file for which the hash should be computed
+     * @return hex encoded hash, or null in case that the file doesn't exist
+     * @throws IOException during reading of the file
+     */
+    public static String hashFile(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        return hash(Files.readAllBytes(file));
+    }
+
+    /**
+     * Computes SHA-256 hash of the {@param data}
+     *
+     * @param data for which the hash should be computed
+     * @return hex encoded hash
+     */
+    public static String hash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be present in every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Entry parseEntry(Map<?, ?> data) {
+        List<String> files = ((List<?>) data.get(FILES_KEY)).stream().map(String::valueOf).toList();
+        List<LabelEntry> labels = ((List<?>) data.get(LABELS_KEY)).stream()
+            .map(label -> (Map<?, ?>) label)
+            .map(label -> new LabelEntry(
+                String.valueOf(label.get(LABEL_KEY)),
+                String.valueOf(label.get(METHOD_KEY)),
+                String.valueOf(label.get(PATH_KEY))))
+            .toList();
+
+        return new Entry(String.valueOf(data.get(HASH_KEY)), files, labels, Boolean.TRUE.equals(data.get(EMPTY_KEY)));
+    }
+
+    private record Entry(String hash, List<String> files, List<LabelEntry> labels, boolean empty) {
+    }
+
+    private record LabelEntry(String label, String methodName, String docFilePath) {
+    }
+}
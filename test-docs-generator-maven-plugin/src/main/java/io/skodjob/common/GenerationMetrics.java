@@ -0,0 +1,295 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single generation run - time spent in each phase, counts of processed classes, test-cases, labels,
+ * and written bytes, and the slowest test-classes. Metrics are safe to be recorded from multiple threads at once.
+ * Time of the phases running in parallel (class loading and rendering) is summed over all threads.
+ */
+public class GenerationMetrics {
+
+    /**
+     * Phases of the generation
+     */
+    public enum Phase {
+        /**
+         * Assembling of the classpath from output directories and libraries
+         */
+        CLASSPATH_ASSEMBLY("classpathAssembly"),
+        /**
+         * Resolution of the project dependency graph and its artifacts
+         */
+        DEPENDENCY_RESOLUTION("dependencyResolution"),
+        /**
+         * Scan of the tests path for test-classes
+         */
+        FILE_SCAN("fileScan"),
+        /**
+         * Loading of the test-classes and reading of their documentation
+         */
+        CLASS_LOADING("classLoading"),
+        /**
+         * Rendering and writing of the Markdown files
+         */
+        MD_RENDERING("mdRendering"),
+        /**
+         * Rendering and writing of the FMF files
+         */
+        FMF_RENDERING("fmfRendering"),
+        /**
+         * Updating of the labels files with links to the test-cases
+         */
+        LABEL_LINKING("labelLinking");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns key of the phase used in the metrics report
+         *
+         * @return key of the phase
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final long startTime = System.nanoTime();
+    private final Map<Phase, LongAdder> phases = new EnumMap<>(Phase.class);
+    private final AtomicInteger classes = new AtomicInteger();
+    private final AtomicInteger generatedClasses = new AtomicInteger();
+    private final LongAdder methods = new LongAdder();
+    private final AtomicInteger labels = new AtomicInteger();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final ConcurrentLinkedQueue<ClassTiming> classTimings = new ConcurrentLinkedQueue<>();
+    private final WriteStatistics writeStatistics = new WriteStatistics();
+
+    /**
+     * Constructor, starts measuring of the total time
+     */
+    public GenerationMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LongAdder());
+        }
+    }
+
+    /**
+     * Adds the time elapsed since {@param startNanos} to the {@param phase}
+     *
+     * @param phase      phase of the generation
+     * @param startNanos start of the measured part, obtained from {@link System#nanoTime()}
+     * @return elapsed time in nanoseconds
+     */
+    public long record(Phase phase, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        phases.get(phase).add(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * Sets number of the test-classes found in the tests path
+     *
+     * @param count number of the test-classes
+     */
+    public void setClasses(int count) {
+        classes.set(count);
+    }
+
+    /**
+     * Records the generated test-class
+     *
+     * @param className   name of the test-class
+     * @param methodCount number of the documented test-cases
+     * @param nanos       time spent on loading and rendering of the test-class
+     */
+    public void recordClass(String className, int methodCount, long nanos) {
+        generatedClasses.incrementAndGet();
+        methods.add(methodCount);
+        classTimings.add(new ClassTiming(className, methodCount, nanos));
+    }
+
+    /**
+     * Sets number of the labels used by the test-cases
+     *
+     * @param count number of the labels
+     */
+    public void setLabels(int count) {
+        labels.set(count);
+    }
+
+    /**
+     * Adds {@param bytes} to the number of written bytes
+     *
+     * @param bytes number of written bytes
+     */
+    public void addBytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Returns statistics of written, unchanged, and deleted files
+     *
+     * @return write statistics of this run
+     */
+    public WriteStatistics getWriteStatistics() {
+        return writeStatistics;
+    }
+
+    /**
+     * Returns time spent in the {@param phase}
+     *
+     * @param phase phase of the generation
+     * @return time in milliseconds
+     */
+    public long getPhaseMillis(Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(phases.get(phase).sum());
+    }
+
+    /**
+     * Returns time elapsed since creation of the metrics
+     *
+     * @return time in milliseconds
+     */
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Returns number of the test-classes found in the tests path
+     *
+     * @return number of the test-classes
+     */
+    public int getClasses() {
+        return classes.get();
+    }
+
+    /**
+     * Returns number of the generated test-classes, test-classes reused from the previous run are not counted
+     *
+     * @return number of the generated test-classes
+     */
+    public int getGeneratedClasses() {
+        return generatedClasses.get();
+    }
+
+    /**
+     * Returns number of the documented test-cases in the generated test-classes
+     *
+     * @return number of the test-cases
+     */
+    public long getMethods() {
+        return methods.sum();
+    }
+
+    /**
+     * Returns number of the labels used by the test-cases
+     *
+     * @return number of the labels
+     */
+    public int getLabels() {
+        return labels.get();
+    }
+
+    /**
+     * Returns number of the written bytes
+     *
+     * @return number of the written bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Returns the slowest generated test-classes
+     *
+     * @param limit maximal number of returned test-classes
+     * @return test-classes sorted from the slowest one
+     */
+    public List<ClassTiming> getSlowestClasses(int limit) {
+        return classTimings.stream()
+            .sorted(Comparator.comparingLong(ClassTiming::nanos).reversed().thenComparing(ClassTiming::className))
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Writes the metrics in JSON format to {@param file}
+     *
+     * @param file         path of the metrics file
+     * @param slowestLimit maximal number of the slowest test-classes in the report
+     * @return result of writing the file
+     * @throws IOException during writing of the file
+     */
+    public WriteResult write(Path file, int slowestLimit) throws IOException {
+        return Utils.writeFile(file.toString(), toJson(slowestLimit));
+    }
+
+    /**
+     * Creates JSON report of the metrics
+     *
+     * @param slowestLimit maximal number of the slowest test-classes in the report
+     * @return metrics in JSON format
+     */
+    public String toJson(int slowestLimit) {
+        StringBuilder out = new StringBuilder();
+        JsonWriter json = new JsonWriter(out);
+
+        json.beginObject().name("totalMillis").value(getTotalMillis());
+
+        json.name("phases").beginObject();
+        for (Phase phase : Phase.values()) {
+            json.name(phase.getKey() + "Millis").value(getPhaseMillis(phase));
+        }
+        json.endObject();
+
+        json.name("counts").beginObject()
+            .name("classes").value(getClasses())
+            .name("generatedClasses").value(getGeneratedClasses())
+            .name("methods").value(getMethods())
+            .name("labels").value(getLabels())
+            .name("bytesWritten").value(getBytesWritten())
+            .name("filesWritten").value(writeStatistics.getWritten())
+            .name("filesUnchanged").value(writeStatistics.getUnchanged())
+            .name("filesDeleted").value(writeStatistics.getDeleted())
+            .endObject();
+
+        json.name("slowestClasses").beginArray();
+        for (ClassTiming timing : getSlowestClasses(slowestLimit)) {
+            json.beginObject()
+                .name("className").value(timing.className())
+                .name("methods").value(timing.methods())
+                .name("millis").value(TimeUnit.NANOSECONDS.toMillis(timing.nanos()))
+                .endObject();
+        }
+        json.endArray().endObject();
+
+        return out.append(System.lineSeparator()).toString();
+    }
+
+    /**
+     * Time spent on a single test-class
+     *
+     * @param className name of the test-class
+     * @param methods   number of the documented test-cases
+     * @param nanos     time spent on loading and rendering of the test-class
+     */
+    public record ClassTiming(String className, int methods, long nanos) {
+    }
+}
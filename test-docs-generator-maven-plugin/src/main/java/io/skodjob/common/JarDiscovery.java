@@ -0,0 +1,295 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds jar files inside the library directories, which are added to the class path of the test-classes.
+ * Directories are walked in parallel, only up to the configured depth, and directories matching any of the exclude
+ * glob patterns (f.e. {@code test-classes} or {@code surefire-reports}) are not walked at all. Copies of the same jar
+ * at different paths are added only once.
+ * The result is cached together with the modification times of all walked directories, so the directories are not
+ * walked again until a file is added to or removed from any of them.
+ */
+public class JarDiscovery {
+
+    /**
+     * Glob patterns of jar files, which are added to the class path by default, the suffix is matched case-insensitively
+     */
+    public static final List<String> DEFAULT_INCLUDES = List.of("**.[jJ][aA][rR]");
+
+    /**
+     * Glob patterns of directories inside the build directory, which never contain libraries
+     */
+    public static final List<String> DEFAULT_EXCLUDES = List.of(
+        "{classes,test-classes,generated-sources,generated-test-sources,maven-status,maven-archiver,surefire-reports,failsafe-reports,site}");
+
+    private static final String DIRECTORY_PREFIX = "D ";
+    private static final String JAR_PREFIX = "J ";
+    private static final long MISSING = -1;
+
+    private final List<String> includes;
+    private final List<String> excludes;
+    private final int maxDepth;
+
+    /**
+     * Constructor
+     *
+     * @param includes glob patterns of the jar files, relative to the library directory,
+     *                 {@link #DEFAULT_INCLUDES} are used when null or empty
+     * @param excludes glob patterns of the files and directories, relative to the library directory, which are skipped,
+     *                 {@link #DEFAULT_EXCLUDES} are used when null or empty
+     * @param maxDepth maximal depth of the walked subdirectories, 0 for only the files directly in the library directory
+     */
+    public JarDiscovery(List<String> includes, List<String> excludes, int maxDepth) {
+        this.includes = includes == null || includes.isEmpty() ? DEFAULT_INCLUDES : List.copyOf(includes);
+        this.excludes = excludes == null || excludes.isEmpty() ? DEFAULT_EXCLUDES : List.copyOf(excludes);
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns hash of the includes, excludes and the maximal depth, so each configuration of the discovery can use
+     * its own cache file
+     *
+     * @return SHA-256 hash of the configuration
+     */
+    public String configurationHash() {
+        String configuration = includes + "\n" + excludes + "\n" + maxDepth + "\n";
+
+        return GenerationManifest.hash(configuration.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns jar files inside the {@param directories}, either from the {@param cacheFile}, or by walking the directories
+     * in case that the cache doesn't exist, or any of the directories was changed since the cache was written.
+     *
+     * @param directories library directories
+     * @param cacheFile   path to the cache file, it is written in case that the directories had to be walked
+     * @return sorted jar files without duplicates
+     * @throws IOException during writing of the cache file
+     */
+    public List<Path> discover(List<Path> directories, Path cacheFile) throws IOException {
+        String key = cacheKey(directories);
+        Optional<List<Path>> cached = readCache(cacheFile, key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Listing listing = walk(directories);
+        List<Path> jars = deduplicate(listing.jars());
+        writeCache(cacheFile, key, listing.directories(), jars);
+
+        return jars;
+    }
+
+    /**
+     * Walks the {@param directories} in parallel and collects all jar files and all walked directories
+     *
+     * @param directories library directories, the ones which don't exist are skipped
+     * @return sorted jar files and modification times of the walked directories
+     */
+    public Listing walk(List<Path> directories) {
+        Collection<Path> jars = new ConcurrentLinkedQueue<>();
+        Map<Path, Long> walked = new ConcurrentHashMap<>();
+        List<PathMatcher> includeMatchers = matchers(includes);
+        List<PathMatcher> excludeMatchers = matchers(excludes);
+
+        List<WalkTask> tasks = new ArrayList<>();
+        for (Path directory : directories) {
+            Path root = directory.toAbsolutePath().normalize();
+            walked.put(root, lastModified(root));
+            if (Files.isDirectory(root)) {
+                tasks.add(new WalkTask(root, root, 0, includeMatchers, excludeMatchers, jars, walked));
+            }
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        return new Listing(jars.stream().sorted().toList(), new TreeMap<>(walked));
+    }
+
+    /**
+     * Removes copies of the same jar from the {@param jars}, only the first path of each content is kept.
+     * Content is hashed only for the jars with the same size, so most of the jars are never read.
+     *
+     * @param jars jar files
+     * @return jar files without duplicates, in the original order
+     * @throws IOException during reading of the jar files
+     */
+    public static List<Path> deduplicate(List<Path> jars) throws IOException {
+        Map<Long, List<Path>> bySize = new LinkedHashMap<>();
+        for (Path jar : jars) {
+            bySize.computeIfAbsent(Files.size(jar), size -> new ArrayList<>()).add(jar);
+        }
+
+        Set<Path> duplicates = new HashSet<>();
+        for (List<Path> sameSize : bySize.values()) {
+            if (sameSize.size() > 1) {
+                Set<String> hashes = new HashSet<>();
+                for (Path jar : sameSize) {
+                    if (!hashes.add(GenerationManifest.hashFile(jar))) {
+                        duplicates.add(jar);
+                    }
+                }
+            }
+        }
+
+        return jars.stream().filter(jar -> !duplicates.contains(jar)).toList();
+    }
+
+    /**
+     * Key of the cache, which changes with the configuration of the discovery or with the library directories
+     */
+    private String cacheKey(List<Path> directories) {
+        StringBuilder configuration = new StringBuilder(configurationHash()).append('\n');
+        directories.forEach(directory -> configuration.append(directory.toAbsolutePath().normalize()).append('\n'));
+
+        return GenerationManifest.hash(configuration.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the cached jars from {@param cacheFile}. The cache is valid only for the same key, when none of the walked
+     * directories was modified, and when all the jars still exist.
+     */
+    private static Optional<List<Path>> readCache(Path cacheFile, String key) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(key)) {
+                return Optional.empty();
+            }
+
+            List<Path> jars = new ArrayList<>();
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.startsWith(DIRECTORY_PREFIX)) {
+                    String[] parts = line.substring(DIRECTORY_PREFIX.length()).split(" ", 2);
+                    if (Long.parseLong(parts[0]) != lastModified(Path.of(parts[1]))) {
+                        return Optional.empty();
+                    }
+                } else if (line.startsWith(JAR_PREFIX)) {
+                    jars.add(Path.of(line.substring(JAR_PREFIX.length())));
+                } else {
+                    return Optional.empty();
+                }
+            }
+
+            return jars.stream().allMatch(Files::isRegularFile) ? Optional.of(jars) : Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            // broken cache just means that the directories are walked again
+            return Optional.empty();
+        }
+    }
+
+    private static void writeCache(Path cacheFile, String key, Map<Path, Long> directories, List<Path> jars) throws IOException {
+        StringBuilder content = new StringBuilder(key).append('\n');
+        directories.forEach((directory, modified) -> content.append(DIRECTORY_PREFIX).append(modified).append(' ').append(directory).append('\n'));
+        jars.forEach(jar -> content.append(JAR_PREFIX).append(jar).append('\n'));
+
+        Utils.writeFile(cacheFile.toString(), content);
+    }
+
+    private static List<PathMatcher> matchers(List<String> patterns) {
+        return patterns.stream().map(pattern -> Path.of("").getFileSystem().getPathMatcher("glob:" + pattern)).toList();
+    }
+
+    private static boolean matches(Path relative, List<PathMatcher> matchers) {
+        return matchers.stream().anyMatch(matcher -> matcher.matches(relative));
+    }
+
+    private static long lastModified(Path directory) {
+        try {
+            return Files.getLastModifiedTime(directory).toMillis();
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * Result of the walk of the library directories
+     *
+     * @param jars        sorted jar files, including copies of the same jar
+     * @param directories modification times of all walked directories
+     */
+    public record Listing(List<Path> jars, Map<Path, Long> directories) {
+    }
+
+    /**
+     * Lists single directory, jar files are collected directly, subdirectories are walked by forked tasks
+     */
+    private final class WalkTask extends RecursiveAction {
+
+        private final Path root;
+        private final Path directory;
+        private final int depth;
+        private final List<PathMatcher> includeMatchers;
+        private final List<PathMatcher> excludeMatchers;
+        private final Collection<Path> jars;
+        private final Map<Path, Long> walked;
+
+        private WalkTask(Path root, Path directory, int depth, List<PathMatcher> includeMatchers, List<PathMatcher> excludeMatchers,
+                         Collection<Path> jars, Map<Path, Long> walked) {
+            this.root = root;
+            this.directory = directory;
+            this.depth = depth;
+            this.includeMatchers = includeMatchers;
+            this.excludeMatchers = excludeMatchers;
+            this.jars = jars;
+            this.walked = walked;
+        }
+
+        @Override
+        protected void compute() {
+            List<WalkTask> subdirectories = new ArrayList<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    Path relative = root.relativize(entry);
+                    if (matches(relative, excludeMatchers)) {
+                        continue;
+                    }
+
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    if (attributes.isDirectory() && depth < maxDepth) {
+                        walked.put(entry, attributes.lastModifiedTime().toMillis());
+                        subdirectories.add(new WalkTask(root, entry, depth + 1, includeMatchers, excludeMatchers, jars, walked));
+                    } else if (attributes.isRegularFile() && matches(relative, includeMatchers)) {
+                        jars.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                // unreadable directory doesn't contain any usable library
+            }
+
+            invokeAll(subdirectories);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal streaming writer of compact JSON, used for machine-readable outputs of the generator without adding
+ * dependency on a JSON library. Commas between values are handled by the writer.
+ */
+public class JsonWriter {
+
+    private final StringBuilder out;
+    // for each open object or array, whether the next value is the first one
+    private final Deque<Boolean> first = new ArrayDeque<>();
+    private boolean afterName;
+
+    /**
+     * Creates writer appending the JSON to {@param out}
+     *
+     * @param out buffer the JSON is appended to
+     */
+    public JsonWriter(StringBuilder out) {
+        this.out = out;
+    }
+
+    /**
+     * Starts a new object
+     *
+     * @return this writer
+     */
+    public JsonWriter beginObject() {
+        beforeValue();
+        out.append('{');
+        first.push(true);
+        return this;
+    }
+
+    /**
+     * Ends the current object
+     *
+     * @return this writer
+     */
+    public JsonWriter endObject() {
+        first.pop();
+        out.append('}');
+        return this;
+    }
+
+    /**
+     * Starts a new array
+     *
+     * @return this writer
+     */
+    public JsonWriter beginArray() {
+        beforeValue();
+        out.append('[');
+        first.push(true);
+        return this;
+    }
+
+    /**
+     * Ends the current array
+     *
+     * @return this writer
+     */
+    public JsonWriter endArray() {
+        first.pop();
+        out.append(']');
+        return this;
+    }
+
+    /**
+     * Writes name of the next member of the current object
+     *
+     * @param name name of the member
+     * @return this writer
+     */
+    public JsonWriter name(String name) {
+        beforeValue();
+        out.append(quote(name)).append(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes string value, or null
+     *
+     * @param value string value
+     * @return this writer
+     */
+    public JsonWriter value(String value) {
+        beforeValue();
+        out.append(value == null ? "null" : quote(value));
+        return this;
+    }
+
+    /**
+     * Writes number value
+     *
+     * @param value number value
+     * @return this writer
+     */
+    public JsonWriter value(long value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!first.isEmpty()) {
+            if (!first.pop()) {
+                out.append(',');
+            }
+            first.push(false);
+        }
+    }
+
+    /**
+     * Quotes and escapes the {@param value} as JSON string
+     *
+     * @param value string to be quoted
+     * @return JSON string
+     */
+    public static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append("\\u%04x".formatted((int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Index of labels, which have their description file inside the labels directory of the docs.
+ * The directory is listed only once, when the index is loaded, so checks for existence of the description files
+ * don't touch the file system. The index is immutable and can be shared by all generators and threads of a single run.
+ */
+public class LabelDescriptions {
+
+    private static final String DESCRIPTION_SUFFIX = ".md";
+
+    private final NavigableSet<String> labels;
+
+    private LabelDescriptions(NavigableSet<String> labels) {
+        this.labels = Collections.unmodifiableNavigableSet(labels);
+    }
+
+    /**
+     * Lists the {@param labelsDirPath} and creates index of all labels, which have their description file there
+     *
+     * @param labelsDirPath path to directory with labels description files
+     * @return loaded index, empty in case that the directory doesn't exist
+     */
+    public static LabelDescriptions load(String labelsDirPath) {
+        NavigableSet<String> labels = new TreeSet<>();
+        String[] files = new File(labelsDirPath).list();
+
+        if (files != null) {
+            Arrays.stream(files)
+                .filter(name -> name.endsWith(DESCRIPTION_SUFFIX))
+                .map(name -> name.substring(0, name.length() - DESCRIPTION_SUFFIX.length()))
+                .forEach(labels::add);
+        }
+
+        return new LabelDescriptions(labels);
+    }
+
+    /**
+     * Checks whether the {@param label} has its description file
+     *
+     * @param label name of the label
+     * @return true if the description file exists, false otherwise
+     */
+    public boolean hasDescription(String label) {
+        return labels.contains(label);
+    }
+
+    /**
+     * Returns all labels, which have their description file
+     *
+     * @return unmodifiable sorted set of labels
+     */
+    public NavigableSet<String> getLabels() {
+        return labels;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Index of labels and test-cases that are covering them, collected during a single generation run.
+ * The index is safe to be filled from multiple threads at once and both labels and test-cases are kept sorted,
+ * so the content of generated label files doesn't depend on the order in which the test-classes were processed.
+ * Test-cases of a label are always added and removed within single atomic update of the label, so removal of an empty
+ * label never drops a test-case added concurrently.
+ */
+public class LabelIndex {
+
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<TestReference>> labels = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     */
+    public LabelIndex() {
+        // constructor
+    }
+
+    /**
+     * Adds test-case to the list of tests covering the {@param label}
+     *
+     * @param label       name of the label
+     * @param className   name of the test-class containing the test-case
+     * @param methodName  name of the test-case
+     * @param docFilePath path to the generated documentation of the test-class
+     */
+    public void add(String label, String className, String methodName, String docFilePath) {
+        TestReference test = new TestReference(className, methodName, docFilePath);
+        labels.compute(label, (key, tests) -> {
+            ConcurrentSkipListSet<TestReference> updated = tests == null ? new ConcurrentSkipListSet<>() : tests;
+            updated.add(test);
+            return updated;
+        });
+    }
+
+    /**
+     * Adds all test-cases from {@param other} index to this index
+     *
+     * @param other index, which content should be added
+     */
+    public void addAll(LabelIndex other) {
+        other.labels.forEach((label, added) -> labels.compute(label, (key, tests) -> {
+            ConcurrentSkipListSet<TestReference> updated = tests == null ? new ConcurrentSkipListSet<>() : tests;
+            updated.addAll(added);
+            return updated;
+        }));
+    }
+
+    /**
+     * Removes all test-cases of the {@param className} test-class from the index, labels without any test-case are removed
+     *
+     * @param className name of the test-class
+     * @return sorted set of labels, from which at least one test-case was removed
+     */
+    public NavigableSet<String> removeClass(String className) {
+        NavigableSet<String> removedFrom = new TreeSet<>();
+
+        // removal and the check for the empty label are done in one update, so concurrent add to the label is not lost
+        labels.keySet().forEach(label -> labels.computeIfPresent(label, (key, tests) -> {
+            if (tests.removeIf(test -> test.className().equals(className))) {
+                removedFrom.add(label);
+            }
+            return tests.isEmpty() ? null : tests;
+        }));
+
+        return removedFrom;
+    }
+
+    /**
+     * Returns sorted snapshot of all labels with the test-cases covering them
+     *
+     * @return unmodifiable map with label as a key and sorted set of test-cases as value
+     */
+    public NavigableMap<String, NavigableSet<TestReference>> getLabels() {
+        return Collections.unmodifiableNavigableMap(new TreeMap<>(labels));
+    }
+
+    /**
+     * Checks whether there is any label in the index
+     *
+     * @return true if no label was added, false otherwise
+     */
+    public boolean isEmpty() {
+        return labels.isEmpty();
+    }
+
+    /**
+     * Reference to a test-case covering a label
+     *
+     * @param className   name of the test-class containing the test-case
+     * @param methodName  name of the test-case
+     * @param docFilePath path to the generated documentation of the test-class
+     */
+    public record TestReference(String className, String methodName, String docFilePath) implements Comparable<TestReference> {
+
+        private static final Comparator<TestReference> COMPARATOR = Comparator.comparing(TestReference::methodName)
+            .thenComparing(TestReference::docFilePath)
+            .thenComparing(TestReference::className);
+
+        @Override
+        public int compareTo(TestReference other) {
+            return COMPARATOR.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipFile;
+
+/**
+ * Class loader, which knows packages of all jar files on its class path in advance, so each class is looked up only
+ * in the jar files containing its package. Jar files are opened only when a class or resource from one of their
+ * packages is requested for the first time, so most of the jar files on big class paths are never opened at all.
+ * Directories on the class path are not indexed, they are always checked directly.
+ * The loader is parallel capable, so the test-classes can be loaded by multiple threads at once.
+ */
+public class PackageIndexClassLoader extends ClassLoader implements Closeable {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JAR_PREFIX = "J ";
+    private static final String PACKAGE_PREFIX = "P ";
+
+    private final List<Path> classpath;
+    private final boolean[] isDirectory;
+    private final List<Integer> directories = new ArrayList<>();
+    private final Map<String, List<Integer>> jarsByPackage = new HashMap<>();
+    private final Map<Integer, JarFile> openedJars = new ConcurrentHashMap<>();
+    private final Map<Integer, ProtectionDomain> protectionDomains = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates class loader with the {@param classpath}
+     *
+     * @param classpath directories and jar files, searched in the specified order
+     * @param packages  packages (in {@code path/to/package} format) of the jar files, see {@link #indexJars(List, Path)},
+     *                  jar files without packages are never searched
+     * @param parent    parent class loader
+     */
+    public PackageIndexClassLoader(List<Path> classpath, Map<Path, Set<String>> packages, ClassLoader parent) {
+        super(parent);
+        this.classpath = List.copyOf(classpath);
+        this.isDirectory = new boolean[this.classpath.size()];
+
+        for (int i = 0; i < this.classpath.size(); i++) {
+            Path entry = this.classpath.get(i);
+            if (Files.isDirectory(entry)) {
+                isDirectory[i] = true;
+                directories.add(i);
+            } else {
+                for (String packageName : packages.getOrDefault(entry, Set.of())) {
+                    jarsByPackage.computeIfAbsent(packageName, name -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads packages of all {@param jars}, the packages of jar files not changed since the previous run are taken
+     * from the {@param cacheFile}. Jar files, which are not in the cache, are read in parallel.
+     *
+     * @param jars      jar files
+     * @param cacheFile path to the cache file, it is written in case that any of the jar files had to be read
+     * @return packages (in {@code path/to/package} format) of each jar file
+     * @throws IOException during reading of the jar files, or writing of the cache file
+     */
+    public static Map<Path, Set<String>> indexJars(List<Path> jars, Path cacheFile) throws IOException {
+        Map<Path, CachedJar> cached = readCache(cacheFile);
+        Map<Path, CachedJar> index = new ConcurrentHashMap<>();
+
+        try {
+            jars.parallelStream().distinct().forEach(jar -> {
+                try {
+                    long size = Files.size(jar);
+                    long modified = Files.getLastModifiedTime(jar).toMillis();
+                    CachedJar cachedJar = cached.get(jar);
+
+                    if (cachedJar != null && cachedJar.size() == size && cachedJar.modified() == modified) {
+                        index.put(jar, cachedJar);
+                    } else {
+                        index.put(jar, new CachedJar(size, modified, packagesOf(jar)));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (!index.equals(cached)) {
+            writeCache(cacheFile, index);
+        }
+
+        Map<Path, Set<String>> packages = new HashMap<>();
+        index.forEach((jar, cachedJar) -> packages.put(jar, cachedJar.packages()));
+        return packages;
+    }
+
+    /**
+     * Reads names of all directories with at least one file inside the {@param jar}
+     *
+     * @param jar jar file
+     * @return packages (in {@code path/to/package} format) of the jar file, {@code ""} for the root
+     * @throws IOException in case that the jar file cannot be read
+     */
+    public static Set<String> packagesOf(Path jar) throws IOException {
+        Set<String> packages = new TreeSet<>();
+
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            zipFile.stream()
+                .filter(entry -> !entry.isDirectory())
+                .forEach(entry -> packages.add(packageOf(entry.getName())));
+        }
+
+        return packages;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        String resourceName = name.replace('.', '/') + CLASS_SUFFIX;
+
+        for (int entry : candidates(resourceName)) {
+            byte[] bytes;
+            try {
+                bytes = readEntry(entry, resourceName);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+
+            if (bytes != null) {
+                definePackageOf(name);
+                return defineClass(name, bytes, 0, bytes.length, protectionDomain(entry));
+            }
+        }
+
+        throw new ClassNotFoundException(name);
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        for (int entry : candidates(name)) {
+            URL url = resourceUrl(entry, name);
+            if (url != null) {
+                return url;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected Enumeration<URL> findResources(String name) {
+        List<URL> urls = new ArrayList<>();
+        for (int entry : candidates(name)) {
+            URL url = resourceUrl(entry, name);
+            if (url != null) {
+                urls.add(url);
+            }
+        }
+        return Collections.enumeration(urls);
+    }
+
+    /**
+     * Closes all jar files opened by the class loader, no other class can be loaded afterwards
+     *
+     * @throws IOException in case that any of the jar files cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+
+        IOException failure = null;
+        for (JarFile jarFile : openedJars.values()) {
+            try {
+                jarFile.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        openedJars.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns indexes of the class path entries, which can contain the resource, in the class path order -
+     * all directories and jar files containing the package of the resource
+     */
+    private List<Integer> candidates(String resourceName) {
+        if (closed) {
+            return List.of();
+        }
+
+        List<Integer> jars = jarsByPackage.getOrDefault(packageOf(resourceName), List.of());
+        if (directories.isEmpty()) {
+            return jars;
+        }
+
+        List<Integer> candidates = new ArrayList<>(directories.size() + jars.size());
+        candidates.addAll(directories);
+        candidates.addAll(jars);
+        candidates.sort(null);
+        return candidates;
+    }
+
+    private byte[] readEntry(int entry, String resourceName) throws IOException {
+        Path path = classpath.get(entry);
+
+        if (isDirectory[entry]) {
+            Path file = path.resolve(resourceName);
+            return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+        }
+
+        JarFile jarFile = openJar(entry);
+        JarEntry jarEntry = jarFile.getJarEntry(resourceName);
+        if (jarEntry == null) {
+            return null;
+        }
+
+        try (InputStream input = jarFile.getInputStream(jarEntry)) {
+            return input.readAllBytes();
+        }
+    }
+
+    private URL resourceUrl(int entry, String name) {
+        Path path = classpath.get(entry);
+
+        try {
+            if (isDirectory[entry]) {
+                Path file = path.resolve(name);
+                return Files.exists(file) ? file.toUri().toURL() : null;
+            }
+
+            return openJar(entry).getEntry(name) != null ? new URL("jar:" + path.toUri() + "!/" + name) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private JarFile openJar(int entry) throws IOException {
+        try {
+            return openedJars.computeIfAbsent(entry, index -> {
+                try {
+                    return new JarFile(classpath.get(index).toFile(), false, ZipFile.OPEN_READ, JarFile.runtimeVersion());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ProtectionDomain protectionDomain(int entry) {
+        return protectionDomains.computeIfAbsent(entry, index -> {
+            try {
+                CodeSource codeSource = new CodeSource(classpath.get(index).toUri().toURL(), (Certificate[]) null);
+                return new ProtectionDomain(codeSource, null, this, null);
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        });
+    }
+
+    private void definePackageOf(String className) {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot < 0) {
+            return;
+        }
+
+        String packageName = className.substring(0, lastDot);
+        if (getDefinedPackage(packageName) == null) {
+            try {
+                definePackage(packageName, null, null, null, null, null, null, null);
+            } catch (IllegalArgumentException e) {
+                // package was defined by another thread in the meantime
+            }
+        }
+    }
+
+    private static String packageOf(String resourceName) {
+        int lastSlash = resourceName.lastIndexOf('/');
+        return lastSlash < 0 ? "" : resourceName.substring(0, lastSlash);
+    }
+
+    private static Map<Path, CachedJar> readCache(Path cacheFile) {
+        Map<Path, CachedJar> cached = new HashMap<>();
+        if (!Files.isRegularFile(cacheFile)) {
+            return cached;
+        }
+
+        try {
+            Path jar = null;
+            long size = 0;
+            long modified = 0;
+            Set<String> packages = new TreeSet<>();
+
+            for (String line : Files.readAllLines(cacheFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith(JAR_PREFIX)) {
+                    if (jar != null) {
+                        cached.put(jar, new CachedJar(size, modified, packages));
+                    }
+                    String[] parts = line.substring(JAR_PREFIX.length()).split(" ", 3);
+                    size = Long.parseLong(parts[0]);
+                    modified = Long.parseLong(parts[1]);
+                    jar = Path.of(parts[2]);
+                    packages = new TreeSet<>();
+                } else if (line.startsWith(PACKAGE_PREFIX) && jar != null) {
+                    packages.add(line.substring(PACKAGE_PREFIX.length()));
+                } else {
+                    return new HashMap<>();
+                }
+            }
+            if (jar != null) {
+                cached.put(jar, new CachedJar(size, modified, packages));
+            }
+        } catch (IOException | RuntimeException e) {
+            // broken cache just means that all jar files are read again
+            return new HashMap<>();
+        }
+
+        return cached;
+    }
+
+    private static void writeCache(Path cacheFile, Map<Path, CachedJar> index) throws IOException {
+        StringBuilder content = new StringBuilder();
+        new TreeSet<>(index.keySet()).forEach(jar -> {
+            CachedJar cachedJar = index.get(jar);
+            content.append(JAR_PREFIX).append(cachedJar.size()).append(' ').append(cachedJar.modified()).append(' ').append(jar).append('\n');
+            cachedJar.packages().forEach(packageName -> content.append(PACKAGE_PREFIX).append(packageName).append('\n'));
+        });
+
+        Utils.writeFile(cacheFile.toString(), content);
+    }
+
+    /**
+     * Packages of the jar file together with its size and modification time, which have to match for the cached
+     * packages to be used
+     */
+    private record CachedJar(long size, long modified, Set<String> packages) {
+    }
+}
@@ -4,25 +4,45 @@
  */
 package io.skodjob.common;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Utils class with supported method for all kind of generators.
  */
 public class Utils {
 
-    private static final Pattern REMOVE_BEFORE_PACKAGE = Pattern.compile(".*java/");
+    // everything up to the last occurrence of this directory is the source root, the rest is package path
+    private static final String SOURCE_ROOT_DIRECTORY = "java/";
+    private static final String JAVA_SUFFIX = ".java";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String META_INF = "META-INF/";
+    // source files that never contain test-classes
+    private static final Set<String> NON_CLASS_FILES = Set.of("package-info.java", "module-info.java");
+
+    private static final int INITIAL_BUFFER_CAPACITY = 16 * 1024;
+    // buffers that grew over this capacity (huge test-classes) are not kept for the next use
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 1024 * 1024;
+    private static final ThreadLocal<StringBuilder> RENDER_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CAPACITY));
 
     /**
      * Constructor
@@ -32,53 +52,64 @@ public class Utils {
     }
 
     /**
-     * Updates Map ({@param classes}) with info about classes inside {@param packagePath}.
-     * It goes through all files inside the {@param packagePath} and does two things:
-     * <ul><li>in case that file is directory (another package), it recursively calls itself and adds all info needed for all files inside the directory</li>
-     * <li>otherwise adds key/value record in the map
-     * <ul><li>key -> path in which the particular `.md` file will be generated, typically {@param generatePath}/{@code classPackagePath}
-     * <ul><li>f.e. -> ./test-docs/path/to/my/package/TestClassST</li>
-     * <li>value -> path for the particular test class -> in package format, available on classpath</li>
-     * <li>f.e. -> path.to.my.package.TestClassST</li></ul></li></ul></li></ul>
+     * On specified {@param filePath} lists all classes and returns them in Map, where key is target
+     * path, where the Markdown file will be created, and value is package with class name available
+     * on classpath
      *
-     * @param classes     Map that should be updated with test-classes info
-     * @param packagePath path on which the files and classes should be listed
-     * @return updated Map with test-classes info from the {@param packagePath}
+     * @param filePath     path where are all test-classes present
+     * @param generateDirs whether it should generate subfolders for packages or not
+     * @return Map with test-classes info from the {@param filePath}
      */
-    private static Map<String, String> getClassesForPackage(Map<String, String> classes, Path packagePath, boolean generateDirs) {
-        if (Files.isDirectory(packagePath)) {
-            try (Stream<Path> pathStream = Files.list(packagePath)) {
-                pathStream.forEach(path -> classes.putAll(getClassesForPackage(classes, path, generateDirs)));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        } else {
-            String classPackagePath = packagePath.toAbsolutePath().toString().replaceAll(REMOVE_BEFORE_PACKAGE.toString(), "").replace(".java", "");
-            String filename = classPackagePath;
-            if (!generateDirs) {
-                filename = filename.replaceAll("/", ".");
-            }
-            classes.put(filename, classPackagePath.replaceAll("/", "."));
-        }
-
-        return classes;
+    public static Map<String, String> getTestClassesWithTheirPath(String filePath, boolean generateDirs) {
+        return getTestClassesWithTheirPath(filePath, generateDirs, List.of());
     }
 
     /**
      * On specified {@param filePath} lists all classes and returns them in Map, where key is target
      * path, where the Markdown file will be created, and value is package with class name available
-     * on classpath
-     * Also excludes files that should not be considered for documentation (currently just "AbstractST")
+     * on classpath.
+     * The whole tree is walked just once, only `.java` files are taken into account and files or directories
+     * matching any of the {@param excludes} glob patterns (relative to {@param filePath}) are skipped during the walk.
+     * <ul><li>key -> path in which the particular `.md` file will be generated, typically {@code classPackagePath}
+     * <ul><li>f.e. -> path/to/my/package/TestClassST or path.to.my.package.TestClassST</li></ul></li>
+     * <li>value -> path for the particular test class -> in package format, available on classpath
+     * <ul><li>f.e. -> path.to.my.package.TestClassST</li></ul></li></ul>
      *
      * @param filePath     path where are all test-classes present
      * @param generateDirs whether it should generate subfolders for packages or not
+     * @param excludes     glob patterns of files and directories that should not be considered for documentation
      * @return Map with test-classes info from the {@param filePath}
      */
-    public static Map<String, String> getTestClassesWithTheirPath(String filePath, boolean generateDirs) {
+    public static Map<String, String> getTestClassesWithTheirPath(String filePath, boolean generateDirs, List<String> excludes) {
+        Path root = Paths.get(filePath);
+        List<PathMatcher> excludeMatchers = excludes.stream()
+            .map(pattern -> root.getFileSystem().getPathMatcher("glob:" + pattern))
+            .toList();
         Map<String, String> classes = new HashMap<>();
 
-        try (Stream<Path> pathStream = Files.list(Paths.get(filePath))) {
-            pathStream.forEach(path -> classes.putAll(getClassesForPackage(classes, path, generateDirs)));
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root) && isExcluded(root.relativize(dir), excludeMatchers)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String fileName = file.getFileName().toString();
+
+                    if (attrs.isRegularFile() && fileName.endsWith(JAVA_SUFFIX) && !NON_CLASS_FILES.contains(fileName)
+                        && !isExcluded(root.relativize(file), excludeMatchers)) {
+                        String classPackagePath = getClassPackagePath(file);
+                        String className = classPackagePath.replace('/', '.');
+                        classes.put(generateDirs ? classPackagePath : className, className);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
@@ -87,25 +118,183 @@ public class Utils {
     }
 
     /**
-     * Creates needed files and folders for the particular test-suite (test-class)
+     * Returns path of the class inside the source root, f.e. path/to/my/package/TestClassST
+     * for /project/src/test/java/path/to/my/package/TestClassST.java
      *
-     * @param classFilePath path where the test-suite (test-class) is present
-     * @return file writer
-     * @throws IOException during file creation
+     * @param file source file of the class
+     * @return package path of the class without the `.java` suffix
      */
-    public static PrintWriter createFilesForTestClass(String classFilePath) throws IOException {
-        String fileName = classFilePath.substring(classFilePath.lastIndexOf('/') + 1);
-        String parentPath = classFilePath.replace(fileName, "");
+    private static String getClassPackagePath(Path file) {
+        String path = file.toAbsolutePath().toString();
+        int sourceRoot = path.lastIndexOf(SOURCE_ROOT_DIRECTORY);
+        return path.substring(sourceRoot < 0 ? 0 : sourceRoot + SOURCE_ROOT_DIRECTORY.length(), path.length() - JAVA_SUFFIX.length());
+    }
 
-        final File parent = new File(parentPath);
-        if (!parent.exists()) {
-            parent.mkdirs();
+    /**
+     * Lists test-classes inside the {@param jars}, f.e. test-jar artifacts, in the same format as
+     * {@link #getTestClassesWithTheirPath(String, boolean, List)} lists them from the sources. Entries are read from
+     * the central directory of each jar, the jars are read in parallel and they are never unpacked.
+     * Nested classes (with {@code $} in the name) are skipped, same as they have no source file of their own.
+     * The {@param excludes} glob patterns are matched against source path of the class, f.e. {@code io/skodjob/AbstractST.java},
+     * and against its directories.
+     *
+     * @param jars         jar files with compiled test-classes, the first jar wins in case that more jars contain the same class
+     * @param generateDirs whether it should generate subfolders for packages or not
+     * @param excludes     glob patterns of files and directories that should not be considered for documentation
+     * @return Map with test-classes info from the {@param jars}
+     */
+    public static Map<String, String> getTestClassesFromJars(List<Path> jars, boolean generateDirs, List<String> excludes) {
+        List<PathMatcher> excludeMatchers = excludes.stream()
+            .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+            .toList();
+
+        // results are merged in the order of the jars, no matter which jar was read first
+        List<Map<String, String>> jarClasses = jars.parallelStream()
+            .map(jar -> getTestClassesFromJar(jar, generateDirs, excludeMatchers))
+            .toList();
+
+        Map<String, String> classes = new HashMap<>();
+        jarClasses.forEach(jarClass -> jarClass.forEach(classes::putIfAbsent));
+        return classes;
+    }
+
+    private static Map<String, String> getTestClassesFromJar(Path jar, boolean generateDirs, List<PathMatcher> excludeMatchers) {
+        Map<String, String> classes = new HashMap<>();
+
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            zipFile.stream()
+                .map(ZipEntry::getName)
+                .filter(name -> name.endsWith(CLASS_SUFFIX) && name.indexOf('$') < 0 && !name.startsWith(META_INF))
+                .map(name -> name.substring(0, name.length() - CLASS_SUFFIX.length()))
+                .filter(classPackagePath -> !NON_CLASS_FILES.contains(classPackagePath.substring(classPackagePath.lastIndexOf('/') + 1) + JAVA_SUFFIX))
+                .filter(classPackagePath -> !isExcludedWithParents(Path.of(classPackagePath + JAVA_SUFFIX), excludeMatchers))
+                .forEach(classPackagePath -> {
+                    String className = classPackagePath.replace('/', '.');
+                    classes.put(generateDirs ? classPackagePath : className, className);
+                });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read test-classes from %s".formatted(jar), e);
         }
 
-        final File classFile = new File(parent, fileName);
-        classFile.createNewFile();
+        return classes;
+    }
+
+    private static boolean isExcludedWithParents(Path relativePath, List<PathMatcher> excludeMatchers) {
+        for (Path path = relativePath; path != null; path = path.getParent()) {
+            if (isExcluded(path, excludeMatchers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExcluded(Path relativePath, List<PathMatcher> excludeMatchers) {
+        return excludeMatchers.stream().anyMatch(matcher -> matcher.matches(relativePath));
+    }
+
+    /**
+     * Parses number of threads from the {@param threads}, which is either a plain number, or number suffixed
+     * with "C" - in that case the number is multiplied by number of available processors (f.e. "1.5C").
+     *
+     * @param threads number of threads in one of the supported formats
+     * @return number of threads, at least one
+     * @throws IllegalArgumentException in case that {@param threads} is not in supported format or is not positive
+     */
+    public static int parseThreadCount(String threads) {
+        if (threads == null || threads.isBlank()) {
+            return 1;
+        }
+
+        String value = threads.trim();
+        int count;
+
+        try {
+            if (value.endsWith("C") || value.endsWith("c")) {
+                double multiplier = Double.parseDouble(value.substring(0, value.length() - 1));
+                count = (int) (multiplier * Runtime.getRuntime().availableProcessors());
+                // in case that multiplier is positive, but result is rounded down to 0, use at least one thread
+                if (multiplier > 0) {
+                    count = Math.max(count, 1);
+                }
+            } else {
+                count = Integer.parseInt(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unsupported format of number of threads: " + threads, e);
+        }
+
+        if (count <= 0) {
+            throw new IllegalArgumentException("Number of threads has to be positive, got: " + threads);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns empty buffer for rendering of the documents, which is reused by all documents rendered by the current thread.
+     * Content of the buffer is valid only until the next call of this method from the same thread.
+     *
+     * @return empty buffer for rendering
+     */
+    public static StringBuilder getRenderBuffer() {
+        StringBuilder buffer = RENDER_BUFFER.get();
+
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+            RENDER_BUFFER.set(buffer);
+        }
+
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    /**
+     * Writes the {@param content} into the file on {@param filePath} using single channel write.
+     * In case that the file already exists with the same content, it is left untouched, so its modification time
+     * is preserved and tools watching the docs don't see it as changed. Needed parent folders are created,
+     * existing file with different content is overwritten.
+     *
+     * @param filePath path of the file
+     * @param content  content of the file, encoded in UTF-8
+     * @return {@link WriteResult#WRITTEN} if the file was written, {@link WriteResult#UNCHANGED} otherwise
+     * @throws IOException during file creation, reading, or writing
+     */
+    public static WriteResult writeFile(String filePath, CharSequence content) throws IOException {
+        return writeFile(filePath, StandardCharsets.UTF_8.encode(CharBuffer.wrap(content)));
+    }
+
+    /**
+     * Writes the binary {@param content} into the file on {@param filePath}, the same way as
+     * {@link #writeFile(String, CharSequence)}.
+     *
+     * @param filePath path of the file
+     * @param content  content of the file
+     * @return {@link WriteResult#WRITTEN} if the file was written, {@link WriteResult#UNCHANGED} otherwise
+     * @throws IOException during file creation, reading, or writing
+     */
+    public static WriteResult writeFile(String filePath, byte[] content) throws IOException {
+        return writeFile(filePath, ByteBuffer.wrap(content));
+    }
+
+    private static WriteResult writeFile(String filePath, ByteBuffer bytes) throws IOException {
+        Path path = Paths.get(filePath);
+
+        // size is compared first, so the existing file is read only when it can have the same content
+        if (Files.isRegularFile(path) && Files.size(path) == bytes.remaining()
+            && ByteBuffer.wrap(Files.readAllBytes(path)).equals(bytes)) {
+            return WriteResult.UNCHANGED;
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
 
-        FileWriter write = new FileWriter(classFile, StandardCharsets.UTF_8);
-        return new PrintWriter(write);
+        return WriteResult.WRITTEN;
     }
 }
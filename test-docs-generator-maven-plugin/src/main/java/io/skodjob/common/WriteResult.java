@@ -0,0 +1,23 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+/**
+ * Result of writing a generated file
+ */
+public enum WriteResult {
+    /**
+     * File didn't exist or its content was different, so it was written
+     */
+    WRITTEN,
+    /**
+     * File already had the same content, so it was left untouched
+     */
+    UNCHANGED,
+    /**
+     * There was nothing to generate, so no file was written
+     */
+    EMPTY
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts of written, unchanged, and deleted files during a single generation run.
+ * The statistics are safe to be updated from multiple threads at once.
+ */
+public class WriteStatistics {
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+
+    /**
+     * Constructor
+     */
+    public WriteStatistics() {
+        // constructor
+    }
+
+    /**
+     * Records the {@param result} of writing a single file
+     *
+     * @param result result of the write
+     */
+    public void record(WriteResult result) {
+        switch (result) {
+            case WRITTEN -> written.incrementAndGet();
+            case UNCHANGED -> unchanged.incrementAndGet();
+            case EMPTY -> {
+                // nothing was generated, so there is nothing to count
+            }
+        }
+    }
+
+    /**
+     * Records deletion of a single file
+     */
+    public void recordDeleted() {
+        deleted.incrementAndGet();
+    }
+
+    /**
+     * Returns number of written files
+     *
+     * @return number of written files
+     */
+    public int getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Returns number of files that already had the same content
+     *
+     * @return number of unchanged files
+     */
+    public int getUnchanged() {
+        return unchanged.get();
+    }
+
+    /**
+     * Returns number of deleted files
+     *
+     * @return number of deleted files
+     */
+    public int getDeleted() {
+        return deleted.get();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.index;
+
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the binary index written by {@link MetadataIndexWriter}. The file is read into the heap at once instead of
+ * being memory-mapped, because the same run rewrites the index, and the mapped file cannot be written on Windows
+ * until the mapping is garbage collected.
+ */
+public class MetadataIndexReader {
+
+    private final ByteBuffer buffer;
+    private String[] strings;
+
+    private MetadataIndexReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads documentation of all test-classes from the binary index in {@param indexFile}
+     *
+     * @param indexFile path to the binary index
+     * @return documentation of the test-classes in the order they were written
+     * @throws IOException in case that the file cannot be read or it is not a valid index
+     */
+    public static List<ClassMetadata> read(Path indexFile) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(indexFile)));
+    }
+
+    /**
+     * Reads documentation of all test-classes from the binary index in {@param buffer}
+     *
+     * @param buffer content of the binary index, read from its current position
+     * @return documentation of the test-classes in the order they were written
+     * @throws IOException in case that the content is not a valid index
+     */
+    public static List<ClassMetadata> read(ByteBuffer buffer) throws IOException {
+        try {
+            return new MetadataIndexReader(buffer).readIndex();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupted metadata index", e);
+        }
+    }
+
+    private List<ClassMetadata> readIndex() throws IOException {
+        if (buffer.getInt() != MetadataIndexWriter.MAGIC) {
+            throw new IOException("Not a metadata index");
+        }
+        int version = buffer.getInt();
+        if (version != MetadataIndexWriter.VERSION) {
+            throw new IOException("Unsupported metadata index version " + version);
+        }
+
+        strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int classCount = buffer.getInt();
+        List<ClassMetadata> classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            String className = string();
+            String simpleName = string();
+
+            SuiteMetadata suite = null;
+            if (buffer.getInt() != 0) {
+                suite = new SuiteMetadata(string(), contact(), steps(), steps(), labels());
+            }
+
+            int testCount = buffer.getInt();
+            List<TestMetadata> tests = new ArrayList<>(testCount);
+            for (int j = 0; j < testCount; j++) {
+                tests.add(new TestMetadata(string(), string(), contact(), steps(), labels()));
+            }
+
+            classes.add(new ClassMetadata(className, simpleName, suite, tests));
+        }
+
+        return classes;
+    }
+
+    private String string() {
+        int index = buffer.getInt();
+        return index == -1 ? null : strings[index];
+    }
+
+    private ContactMetadata contact() {
+        String name = string();
+        String email = string();
+        return name == null && email == null ? null : new ContactMetadata(name, email);
+    }
+
+    private List<StepMetadata> steps() {
+        int count = buffer.getInt();
+        List<StepMetadata> steps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            steps.add(new StepMetadata(string(), string()));
+        }
+        return steps;
+    }
+
+    private List<String> labels() {
+        int count = buffer.getInt();
+        List<String> labels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            labels.add(string());
+        }
+        return labels;
+    }
+}
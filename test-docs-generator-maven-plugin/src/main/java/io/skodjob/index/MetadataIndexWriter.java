@@ -0,0 +1,258 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.index;
+
+import io.skodjob.common.JsonWriter;
+import io.skodjob.common.Utils;
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes documentation of all test-classes into a single index, so other tools don't have to parse the generated
+ * Markdown or fmf files. The index is written in two formats:
+ * <ul><li>JSON - for tools without access to the plugin jar</li>
+ * <li>binary - compact format read by {@link MetadataIndexReader}. All strings are stored only once in a table
+ * at the beginning of the file and referenced by their position, so the index of large test suites with repeated
+ * contacts, steps, and labels stays small and is loaded without any parsing of text.</li></ul>
+ *
+ * <p>The binary format (all numbers are big-endian ints):</p>
+ * <pre>
+ * index   = MAGIC VERSION stringCount string* classCount class*
+ * string  = byteLength UTF-8-bytes
+ * class   = className simpleName hasSuite [suite] testCount test*
+ * suite   = description contact steps(before) steps(after) labels
+ * test    = methodName description contact steps labels
+ * contact = name email
+ * steps   = count (value expected)*
+ * labels  = count label*
+ * </pre>
+ * All strings are referenced by their index in the string table, -1 stands for null.
+ */
+public class MetadataIndexWriter {
+
+    /**
+     * Magic number at the beginning of the binary index, "TDIX" in ASCII
+     */
+    public static final int MAGIC = 0x54444958;
+
+    /**
+     * Version of the binary and JSON index format
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Name of the JSON index file inside the docs directory
+     */
+    public static final String JSON_FILE = "metadata-index.json";
+
+    /**
+     * Name of the binary index file inside the docs directory
+     */
+    public static final String BINARY_FILE = "metadata-index.bin";
+
+    private MetadataIndexWriter() {
+        // constructor
+    }
+
+    /**
+     * Writes the {@param classes} as JSON index to {@param filePath}
+     *
+     * @param classes  documentation of the test-classes, in the order they should be written
+     * @param filePath path of the JSON file
+     * @return result of writing the file
+     * @throws IOException during writing of the file
+     */
+    public static WriteResult writeJson(Collection<ClassMetadata> classes, String filePath) throws IOException {
+        return Utils.writeFile(filePath, toJson(classes));
+    }
+
+    /**
+     * Writes the {@param classes} as binary index to {@param filePath}
+     *
+     * @param classes  documentation of the test-classes, in the order they should be written
+     * @param filePath path of the binary file
+     * @return result of writing the file
+     * @throws IOException during writing of the file
+     */
+    public static WriteResult writeBinary(Collection<ClassMetadata> classes, String filePath) throws IOException {
+        return Utils.writeFile(filePath, toBinary(classes));
+    }
+
+    /**
+     * Creates JSON index of the {@param classes}
+     *
+     * @param classes documentation of the test-classes
+     * @return JSON index
+     */
+    public static String toJson(Collection<ClassMetadata> classes) {
+        StringBuilder out = new StringBuilder();
+        JsonWriter json = new JsonWriter(out);
+
+        json.beginObject().name("version").value(VERSION).name("classes").beginArray();
+        for (ClassMetadata testClass : classes) {
+            json.beginObject()
+                .name("className").value(testClass.className())
+                .name("simpleName").value(testClass.simpleName());
+
+            SuiteMetadata suite = testClass.suite();
+            if (suite != null) {
+                json.name("suite").beginObject().name("description").value(suite.description());
+                writeJsonContact(json, suite.contact());
+                writeJsonSteps(json, "beforeTestSteps", suite.beforeTestSteps());
+                writeJsonSteps(json, "afterTestSteps", suite.afterTestSteps());
+                writeJsonLabels(json, suite.labels());
+                json.endObject();
+            }
+
+            json.name("tests").beginArray();
+            for (TestMetadata test : testClass.tests()) {
+                json.beginObject().name("methodName").value(test.methodName()).name("description").value(test.description());
+                writeJsonContact(json, test.contact());
+                writeJsonSteps(json, "steps", test.steps());
+                writeJsonLabels(json, test.labels());
+                json.endObject();
+            }
+            json.endArray().endObject();
+        }
+        json.endArray().endObject();
+
+        return out.append(System.lineSeparator()).toString();
+    }
+
+    private static void writeJsonContact(JsonWriter json, ContactMetadata contact) {
+        if (contact != null) {
+            json.name("contact").beginObject().name("name").value(contact.name()).name("email").value(contact.email()).endObject();
+        }
+    }
+
+    private static void writeJsonSteps(JsonWriter json, String name, List<StepMetadata> steps) {
+        json.name(name).beginArray();
+        steps.forEach(step -> json.beginObject().name("value").value(step.value()).name("expected").value(step.expected()).endObject());
+        json.endArray();
+    }
+
+    private static void writeJsonLabels(JsonWriter json, List<String> labels) {
+        json.name("labels").beginArray();
+        labels.forEach(json::value);
+        json.endArray();
+    }
+
+    /**
+     * Creates binary index of the {@param classes}
+     *
+     * @param classes documentation of the test-classes
+     * @return binary index
+     */
+    public static byte[] toBinary(Collection<ClassMetadata> classes) {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeInt(classes.size());
+            for (ClassMetadata testClass : classes) {
+                out.writeInt(strings.indexOf(testClass.className()));
+                out.writeInt(strings.indexOf(testClass.simpleName()));
+
+                SuiteMetadata suite = testClass.suite();
+                out.writeInt(suite != null ? 1 : 0);
+                if (suite != null) {
+                    out.writeInt(strings.indexOf(suite.description()));
+                    writeBinaryContact(out, strings, suite.contact());
+                    writeBinarySteps(out, strings, suite.beforeTestSteps());
+                    writeBinarySteps(out, strings, suite.afterTestSteps());
+                    writeBinaryLabels(out, strings, suite.labels());
+                }
+
+                out.writeInt(testClass.tests().size());
+                for (TestMetadata test : testClass.tests()) {
+                    out.writeInt(strings.indexOf(test.methodName()));
+                    out.writeInt(strings.indexOf(test.description()));
+                    writeBinaryContact(out, strings, test.contact());
+                    writeBinarySteps(out, strings, test.steps());
+                    writeBinaryLabels(out, strings, test.labels());
+                }
+            }
+
+            ByteArrayOutputStream index = new ByteArrayOutputStream(body.size() + strings.size());
+            DataOutputStream header = new DataOutputStream(index);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            strings.write(header);
+            body.writeTo(index);
+
+            return index.toByteArray();
+        } catch (IOException e) {
+            // in-memory streams don't throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeBinaryContact(DataOutputStream out, StringTable strings, ContactMetadata contact) throws IOException {
+        out.writeInt(contact != null ? strings.indexOf(contact.name()) : -1);
+        out.writeInt(contact != null ? strings.indexOf(contact.email()) : -1);
+    }
+
+    private static void writeBinarySteps(DataOutputStream out, StringTable strings, List<StepMetadata> steps) throws IOException {
+        out.writeInt(steps.size());
+        for (StepMetadata step : steps) {
+            out.writeInt(strings.indexOf(step.value()));
+            out.writeInt(strings.indexOf(step.expected()));
+        }
+    }
+
+    private static void writeBinaryLabels(DataOutputStream out, StringTable strings, List<String> labels) throws IOException {
+        out.writeInt(labels.size());
+        for (String label : labels) {
+            out.writeInt(strings.indexOf(label));
+        }
+    }
+
+    /**
+     * Table of distinct strings in the order of their first use
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int size;
+
+        int indexOf(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return indexes.computeIfAbsent(value, key -> {
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                values.add(bytes);
+                size += Integer.BYTES + bytes.length;
+                return values.size() - 1;
+            });
+        }
+
+        int size() {
+            return size;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            for (byte[] value : values) {
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ package io.skodjob.markdown;
 
 /**
  * Class responsible for creating representation of Markdown headers in text format, returned as String
+ * or appended to the caller's buffer
  */
 public class Header {
 
@@ -23,7 +24,18 @@ public class Header {
      * @return first level header with {@param text}
      */
     public static String firstLevelHeader(String text) {
-        return "# " + text;
+        return appendFirstLevelHeader(new StringBuilder(), text).toString();
+    }
+
+    /**
+     * Appends first level header containing {@param text} to {@param out}
+     *
+     * @param out  buffer the header is appended to
+     * @param text that should be in first level header
+     * @return {@param out}
+     */
+    public static StringBuilder appendFirstLevelHeader(StringBuilder out, String text) {
+        return out.append("# ").append(text);
     }
 
     /**
@@ -33,6 +45,17 @@ public class Header {
      * @return second level header with {@param text}
      */
     public static String secondLevelHeader(String text) {
-        return "## " + text;
+        return appendSecondLevelHeader(new StringBuilder(), text).toString();
+    }
+
+    /**
+     * Appends second level header containing {@param text} to {@param out}
+     *
+     * @param out  buffer the header is appended to
+     * @param text that should be in second level header
+     * @return {@param out}
+     */
+    public static StringBuilder appendSecondLevelHeader(StringBuilder out, String text) {
+        return out.append("## ").append(text);
     }
 }
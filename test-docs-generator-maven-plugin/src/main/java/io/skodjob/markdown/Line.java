@@ -6,9 +6,12 @@ package io.skodjob.markdown;
 
 /**
  * Class responsible for creating representation of Markdown lines in text format, returned as String
+ * or appended to the caller's buffer
  */
 public class Line {
 
+    private static final String HORIZONTAL_LINE = "<hr style=\"border:1px solid\">";
+
     /**
      * Constructor
      */
@@ -22,6 +25,16 @@ public class Line {
      * @return horizontal line in String
      */
     public static String horizontalLine() {
-        return "<hr style=\"border:1px solid\">";
+        return HORIZONTAL_LINE;
+    }
+
+    /**
+     * Appends horizontal line to {@param out}
+     *
+     * @param out buffer the line is appended to
+     * @return {@param out}
+     */
+    public static StringBuilder appendHorizontalLine(StringBuilder out) {
+        return out.append(HORIZONTAL_LINE);
     }
 }
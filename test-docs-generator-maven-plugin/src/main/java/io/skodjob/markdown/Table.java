@@ -8,6 +8,7 @@ import java.util.List;
 
 /**
  * Class responsible for creating representation of Markdown table in text format, returned as String
+ * or appended to the caller's buffer
  */
 public class Table {
 
@@ -29,20 +30,32 @@ public class Table {
         if (headers.isEmpty()) {
             return "";
         }
-        StringBuilder table = new StringBuilder();
+        StringBuilder table = appendHeader(new StringBuilder(), headers);
 
-        table.append("|");
-        headers.forEach(header -> table.append(" ").append(header).append(" |"));
-        table.append("\n");
-        table.append("|");
-        headers.forEach(header -> table.append(" - |"));
-        table.append("\n");
-
-        rows.forEach(row -> table.append(row).append("\n"));
+        rows.forEach(row -> table.append(row).append('\n'));
 
         return table.toString();
     }
 
+    /**
+     * Appends header of the Markdown table with specified {@param headers} to {@param out}.
+     * Rows of the table are then appended using {@link #appendRow(StringBuilder, String...)}.
+     *
+     * @param out     buffer the header is appended to
+     * @param headers list of headers that should be inside the table
+     * @return {@param out}
+     */
+    public static StringBuilder appendHeader(StringBuilder out, List<String> headers) {
+        out.append('|');
+        headers.forEach(header -> out.append(' ').append(header).append(" |"));
+        out.append('\n');
+        out.append('|');
+        headers.forEach(header -> out.append(" - |"));
+        out.append('\n');
+
+        return out;
+    }
+
     /**
      * Creates a single row for {@param content}
      *
@@ -50,14 +63,24 @@ public class Table {
      * @return table row in text format, returned as String
      */
     public static String createRow(String... content) {
-        StringBuilder row = new StringBuilder();
+        StringBuilder row = appendRow(new StringBuilder(), content);
 
-        row.append("| ");
-        for (String s : content) {
+        return row.substring(0, row.length() - 1);
+    }
 
-            row.append(s).append(" | ");
+    /**
+     * Appends a single row for {@param content}, terminated by new line, to {@param out}
+     *
+     * @param out     buffer the row is appended to
+     * @param content of the row
+     * @return {@param out}
+     */
+    public static StringBuilder appendRow(StringBuilder out, String... content) {
+        out.append('|');
+        for (String s : content) {
+            out.append(' ').append(s).append(" |");
         }
 
-        return row.substring(0, row.length() - 1);
+        return out.append('\n');
     }
 }
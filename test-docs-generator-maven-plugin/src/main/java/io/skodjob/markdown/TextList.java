@@ -5,9 +5,11 @@
 package io.skodjob.markdown;
 
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Class responsible for creating representation of Markdown lists in text format, returned as String
+ * or appended to the caller's buffer
  */
 public class TextList {
 
@@ -25,11 +27,26 @@ public class TextList {
      * @return Markdown unordered list in text format, returned as String
      */
     public static String createUnorderedList(List<String> objects) {
-        StringBuilder builder = new StringBuilder();
-        objects.forEach(object ->
-            builder.append("* ").append(object).append("\n")
-        );
+        return appendUnorderedList(new StringBuilder(), objects, StringBuilder::append).toString();
+    }
+
+    /**
+     * Appends the Markdown unordered list to {@param out}, each of the {@param items} is rendered directly into
+     * the buffer by the {@param itemRenderer}, so no intermediate String is created for the items
+     *
+     * @param out          buffer the list is appended to
+     * @param items        items that should be inside the unordered list
+     * @param itemRenderer appends a single item to the buffer
+     * @param <T>          type of the items
+     * @return {@param out}
+     */
+    public static <T> StringBuilder appendUnorderedList(StringBuilder out, List<T> items, BiConsumer<StringBuilder, T> itemRenderer) {
+        for (T item : items) {
+            out.append("* ");
+            itemRenderer.accept(out, item);
+            out.append('\n');
+        }
 
-        return builder.toString();
+        return out;
     }
 }
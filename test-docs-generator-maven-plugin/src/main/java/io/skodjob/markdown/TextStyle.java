@@ -6,6 +6,7 @@ package io.skodjob.markdown;
 
 /**
  * Class responsible for applying Markdown text styles to specified text, returned as String
+ * or appended to the caller's buffer
  */
 public class TextStyle {
 
@@ -23,6 +24,17 @@ public class TextStyle {
      * @return bold stylization for {@param text}
      */
     public static String boldText(String text) {
-        return "**" + text + "**";
+        return appendBoldText(new StringBuilder(), text).toString();
+    }
+
+    /**
+     * Appends {@param text} in bold style to {@param out}
+     *
+     * @param out  buffer the text is appended to
+     * @param text that should be in bold style
+     * @return {@param out}
+     */
+    public static StringBuilder appendBoldText(StringBuilder out, String text) {
+        return out.append("**").append(text).append("**");
     }
 }
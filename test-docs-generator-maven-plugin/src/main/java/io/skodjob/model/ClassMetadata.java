@@ -0,0 +1,63 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.model;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Documentation of the whole test-class, independent of the way how it was obtained (reflection, class file, ...)
+ * and of the class loader that loaded the test-class.
+ *
+ * @param className  fully qualified (binary) name of the test-class
+ * @param simpleName simple name of the test-class
+ * @param suite      documentation of the test-suite, null in case that the class is not annotated by {@link io.skodjob.annotations.SuiteDoc}
+ * @param tests      documentation of all test-cases annotated by {@link io.skodjob.annotations.TestDoc}, sorted by {@link #TEST_ORDER}
+ */
+public record ClassMetadata(String className, String simpleName, SuiteMetadata suite, List<TestMetadata> tests) {
+
+    /**
+     * Order of the test-cases in all generated formats - by method names ignoring the case,
+     * method names differing only in the case are ordered case-sensitively
+     */
+    public static final Comparator<TestMetadata> TEST_ORDER = Comparator
+        .comparing((TestMetadata test) -> test.methodName().toLowerCase(Locale.ENGLISH))
+        .thenComparing(TestMetadata::methodName);
+
+    /**
+     * Creates documentation of the test-class, the list of tests is sorted by {@link #TEST_ORDER} and copied, so the record
+     * is immutable and all renderers get the test-cases in the same order no matter how they were read
+     *
+     * @param className  fully qualified (binary) name of the test-class
+     * @param simpleName simple name of the test-class
+     * @param suite      documentation of the test-suite, or null
+     * @param tests      documentation of the test-cases
+     */
+    public ClassMetadata {
+        tests = tests.stream().sorted(TEST_ORDER).toList();
+    }
+
+    /**
+     * Returns simple name of the class from its binary name, f.e. {@code Outer} for {@code io.skodjob.Outer}
+     * and {@code Inner} for {@code io.skodjob.Outer$Inner}
+     *
+     * @param className binary name of the class
+     * @return simple name of the class
+     */
+    public static String simpleNameOf(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        return name.substring(name.lastIndexOf('$') + 1);
+    }
+
+    /**
+     * Checks whether there is anything to document in the test-class
+     *
+     * @return true if the class has neither test-suite nor test-cases documentation
+     */
+    public boolean isEmpty() {
+        return suite == null && tests.isEmpty();
+    }
+}
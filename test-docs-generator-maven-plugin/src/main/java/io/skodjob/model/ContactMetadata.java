@@ -0,0 +1,28 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.model;
+
+/**
+ * Contact of the test-case or test-suite, obtained from the {@link io.skodjob.annotations.Contact} annotation
+ *
+ * @param name  name of the contact person, empty in case that contact is not specified
+ * @param email email of the contact person
+ */
+public record ContactMetadata(String name, String email) {
+
+    /**
+     * Contact used when no contact is specified, same as the default value in the annotations
+     */
+    public static final ContactMetadata EMPTY = new ContactMetadata("", "");
+
+    /**
+     * Checks whether the contact was specified
+     *
+     * @return true if the name of the contact is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return "".equals(name);
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.model;
+
+/**
+ * Single step of the test-case or test-suite, obtained from the {@link io.skodjob.annotations.Step} annotation
+ *
+ * @param value    step of the test-case
+ * @param expected expected outcome of the step
+ */
+public record StepMetadata(String value, String expected) {
+}
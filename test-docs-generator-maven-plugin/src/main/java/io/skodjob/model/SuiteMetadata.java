@@ -0,0 +1,35 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.model;
+
+import java.util.List;
+
+/**
+ * Documentation of the test-suite (test-class), obtained from the {@link io.skodjob.annotations.SuiteDoc} annotation
+ *
+ * @param description     description of the test-suite
+ * @param contact         contact of the test-suite
+ * @param beforeTestSteps steps done before tests execution
+ * @param afterTestSteps  steps done after tests execution
+ * @param labels          labels describing the test-suite
+ */
+public record SuiteMetadata(String description, ContactMetadata contact, List<StepMetadata> beforeTestSteps,
+                            List<StepMetadata> afterTestSteps, List<String> labels) {
+
+    /**
+     * Creates documentation of the test-suite, all lists are copied, so the record is immutable
+     *
+     * @param description     description of the test-suite
+     * @param contact         contact of the test-suite
+     * @param beforeTestSteps steps done before tests execution
+     * @param afterTestSteps  steps done after tests execution
+     * @param labels          labels describing the test-suite
+     */
+    public SuiteMetadata {
+        beforeTestSteps = List.copyOf(beforeTestSteps);
+        afterTestSteps = List.copyOf(afterTestSteps);
+        labels = List.copyOf(labels);
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.model;
+
+import java.util.List;
+
+/**
+ * Documentation of the test-case (test-method), obtained from the {@link io.skodjob.annotations.TestDoc} annotation
+ *
+ * @param methodName  name of the test-method
+ * @param description description of the test-case
+ * @param contact     contact of the test-case
+ * @param steps       steps done in the test-case
+ * @param labels      labels describing the test-case
+ */
+public record TestMetadata(String methodName, String description, ContactMetadata contact, List<StepMetadata> steps,
+                           List<String> labels) {
+
+    /**
+     * Creates documentation of the test-case, all lists are copied, so the record is immutable
+     *
+     * @param methodName  name of the test-method
+     * @param description description of the test-case
+     * @param contact     contact of the test-case
+     * @param steps       steps done in the test-case
+     * @param labels      labels describing the test-case
+     */
+    public TestMetadata {
+        steps = List.copyOf(steps);
+        labels = List.copyOf(labels);
+    }
+}
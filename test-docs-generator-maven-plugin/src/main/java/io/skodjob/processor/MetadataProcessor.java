@@ -0,0 +1,126 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.processor;
+
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.index.MetadataIndexWriter;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+import io.skodjob.scanner.ReflectionScanner;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor collecting {@link SuiteDoc} and {@link TestDoc} annotations during the compilation of
+ * the test-classes. Documentation of each compiled test-class is written next to the class files, into
+ * {@code META-INF/test-docs/<binary name>.tdm} in the binary format of {@link MetadataIndexWriter}, so the generator
+ * can read it without class path or class loading (the {@code processor} scanner).
+ * The processor is not registered as a service, so it runs only in builds, which enable it explicitly.
+ * Only classes with the annotations are visited. File of a class, which lost all of its annotations, is left in place,
+ * and it is ignored by {@link io.skodjob.scanner.ProcessorScanner}.
+ */
+@SupportedAnnotationTypes({"io.skodjob.annotations.SuiteDoc", "io.skodjob.annotations.TestDoc"})
+public class MetadataProcessor extends AbstractProcessor {
+
+    /**
+     * Directory inside the class output, where the documentation of the test-classes is written
+     */
+    public static final String METADATA_DIRECTORY = "META-INF/test-docs";
+
+    private static final String SUFFIX = ".tdm";
+
+    /**
+     * Constructor
+     */
+    public MetadataProcessor() {
+        // constructor
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // each documented class is written once, no matter how many of its elements are annotated
+        Set<TypeElement> types = new LinkedHashSet<>(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(SuiteDoc.class)));
+        for (Element method : roundEnv.getElementsAnnotatedWith(TestDoc.class)) {
+            if (method.getEnclosingElement() instanceof TypeElement type) {
+                types.add(type);
+            }
+        }
+
+        types.forEach(this::processType);
+        // annotations are not claimed, other processors can process them as well
+        return false;
+    }
+
+    /**
+     * Returns path of the file with documentation of the test-class, relative to the class output directory
+     *
+     * @param className binary name of the test-class
+     * @return relative path of the file
+     */
+    public static String metadataFile(String className) {
+        return METADATA_DIRECTORY + "/" + className + SUFFIX;
+    }
+
+    private void processType(TypeElement type) {
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+        try {
+            writeMetadata(type, extract(type, className));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Cannot write documentation of %s: %s".formatted(className, e.getMessage()), type);
+        }
+    }
+
+    /**
+     * Reads documentation of the {@param type}, only methods declared directly by the type are documented,
+     * same as with the other scanners
+     */
+    private static ClassMetadata extract(TypeElement type, String className) {
+        SuiteDoc suiteDoc = type.getAnnotation(SuiteDoc.class);
+        SuiteMetadata suite = suiteDoc == null ? null : ReflectionScanner.toSuite(suiteDoc);
+
+        List<TestMetadata> tests = new ArrayList<>();
+        for (Element method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            TestDoc testDoc = method.getAnnotation(TestDoc.class);
+            if (testDoc != null) {
+                tests.add(ReflectionScanner.toTest(method.getSimpleName().toString(), testDoc));
+            }
+        }
+
+        return new ClassMetadata(className, type.getSimpleName().toString(), suite, tests);
+    }
+
+    private void writeMetadata(TypeElement type, ClassMetadata metadata) throws IOException {
+        FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+            metadataFile(metadata.className()), type);
+
+        try (OutputStream output = file.openOutputStream()) {
+            output.write(MetadataIndexWriter.toBinary(List.of(metadata)));
+        }
+    }
+}
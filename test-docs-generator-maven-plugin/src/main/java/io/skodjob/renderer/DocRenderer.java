@@ -0,0 +1,69 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.renderer;
+
+import io.skodjob.common.GenerationMetrics;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output format of the test documentation. Documentation of each test-class is read only once into {@link ClassMetadata},
+ * and then rendered by all enabled renderers, so adding a new format doesn't add any cost of reading the test-classes.
+ * Implementations have to be safe to be used from multiple threads at once.
+ */
+public interface DocRenderer {
+
+    /**
+     * Returns phase of the generation, to which the time spent by rendering is recorded
+     *
+     * @return phase of the generation
+     */
+    GenerationMetrics.Phase getPhase();
+
+    /**
+     * Returns path of the file generated for the test-class
+     *
+     * @param filename path of the documentation file (without suffix) inside the docs directory
+     * @return path of the generated file
+     */
+    String getFilePath(String filename);
+
+    /**
+     * Renders documentation of the {@param testClass} into the file returned by {@link #getFilePath(String)}
+     *
+     * @param testClass   documentation of the test-class
+     * @param filename    path of the documentation file (without suffix) inside the docs directory
+     * @param classLabels index, into which labels of the rendered test-cases are added
+     * @return result of writing the file
+     * @throws IOException during writing of the file
+     */
+    WriteResult render(ClassMetadata testClass, String filename, LabelIndex classLabels) throws IOException;
+
+    /**
+     * Creates renderers of the formats supported by the generator. Markdown is always rendered, in case that fmf is
+     * rendered as well, Markdown files are generated into "md" directory.
+     *
+     * @param docsPath          root path of the docs, ending with "/"
+     * @param generateFmf       whether fmf should be rendered
+     * @param labelDescriptions label description files found in the docs directory
+     * @return renderers of the enabled formats, in the order they should be rendered
+     */
+    static List<DocRenderer> create(String docsPath, boolean generateFmf, LabelDescriptions labelDescriptions) {
+        List<DocRenderer> renderers = new ArrayList<>();
+
+        if (generateFmf) {
+            renderers.add(new FmfRenderer(docsPath));
+        }
+        renderers.add(new MarkdownRenderer(docsPath, generateFmf ? "md/" : "", labelDescriptions));
+
+        return renderers;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.renderer;
+
+import io.skodjob.FmfGenerator;
+import io.skodjob.common.GenerationMetrics;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+
+import java.io.IOException;
+
+/**
+ * Renders documentation of test-classes into fmf metadata files using {@link FmfGenerator}
+ */
+public class FmfRenderer implements DocRenderer {
+
+    private final String docsPath;
+
+    /**
+     * Creates renderer of the fmf files, which are generated into "fmf" directory inside the {@param docsPath}
+     *
+     * @param docsPath root path of the docs, ending with "/"
+     */
+    public FmfRenderer(String docsPath) {
+        this.docsPath = docsPath;
+    }
+
+    @Override
+    public GenerationMetrics.Phase getPhase() {
+        return GenerationMetrics.Phase.FMF_RENDERING;
+    }
+
+    @Override
+    public String getFilePath(String filename) {
+        return docsPath + "fmf/" + filename + ".fmf";
+    }
+
+    @Override
+    public WriteResult render(ClassMetadata testClass, String filename, LabelIndex classLabels) throws IOException {
+        return FmfGenerator.generate(testClass, getFilePath(filename));
+    }
+}
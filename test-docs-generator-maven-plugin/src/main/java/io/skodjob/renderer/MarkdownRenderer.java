@@ -0,0 +1,52 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.renderer;
+
+import io.skodjob.MdGenerator;
+import io.skodjob.common.GenerationMetrics;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+
+import java.io.IOException;
+
+/**
+ * Renders documentation of test-classes into Markdown files using {@link MdGenerator}
+ */
+public class MarkdownRenderer implements DocRenderer {
+
+    private final String docsPath;
+    private final String directory;
+    private final LabelDescriptions labelDescriptions;
+
+    /**
+     * Creates renderer of the Markdown files
+     *
+     * @param docsPath          root path of the docs, ending with "/"
+     * @param directory         directory inside the docs, where Markdown files are generated, ending with "/", or empty string
+     * @param labelDescriptions label description files found in the docs directory
+     */
+    public MarkdownRenderer(String docsPath, String directory, LabelDescriptions labelDescriptions) {
+        this.docsPath = docsPath;
+        this.directory = directory;
+        this.labelDescriptions = labelDescriptions;
+    }
+
+    @Override
+    public GenerationMetrics.Phase getPhase() {
+        return GenerationMetrics.Phase.MD_RENDERING;
+    }
+
+    @Override
+    public String getFilePath(String filename) {
+        return docsPath + directory + filename + ".md";
+    }
+
+    @Override
+    public WriteResult render(ClassMetadata testClass, String filename, LabelIndex classLabels) throws IOException {
+        return MdGenerator.generate(testClass, docsPath, directory + filename + ".md", classLabels, labelDescriptions);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Scanner reading the annotations directly from the class files using {@link ClassFileParser}.
+ * The test-classes are never loaded, so neither their dependencies have to be on the class path,
+ * nor their static initializers are executed.
+ * Classes are read from directories, or directly from jar files (f.e. test-jar artifacts) without unpacking them.
+ */
+public class BytecodeScanner implements MetadataScanner {
+
+    private static final String SUITE_DOC = SuiteDoc.class.getName();
+    private static final String TEST_DOC = TestDoc.class.getName();
+
+    private final ClassPathRoots roots;
+
+    /**
+     * Constructor
+     *
+     * @param classDirectories directories or jar files with compiled classes, searched in the specified order
+     */
+    public BytecodeScanner(List<Path> classDirectories) {
+        this.roots = new ClassPathRoots(classDirectories);
+    }
+
+    @Override
+    public ClassMetadata scan(String className) throws ClassNotFoundException, IOException {
+        String classFile = className.replace('.', '/') + ".class";
+
+        for (int root = 0; root < roots.size(); root++) {
+            byte[] content = roots.read(root, classFile);
+            if (content != null) {
+                return extract(content);
+            }
+        }
+
+        throw new ClassNotFoundException(className);
+    }
+
+    @Override
+    public void close() throws IOException {
+        roots.close();
+    }
+
+    /**
+     * Reads documentation of the class from the content of its class file
+     *
+     * @param classFile content of the class file
+     * @return documentation of the test-class
+     * @throws IOException in case that the content is not a valid class file
+     */
+    public static ClassMetadata extract(byte[] classFile) throws IOException {
+        ClassFileParser.ParsedClass parsedClass = ClassFileParser.parse(classFile);
+
+        SuiteMetadata suite = findAnnotation(parsedClass.annotations(), SUITE_DOC)
+            .map(suiteDoc -> new SuiteMetadata(
+                description(suiteDoc),
+                contact(suiteDoc),
+                steps(suiteDoc, "beforeTestSteps"),
+                steps(suiteDoc, "afterTestSteps"),
+                labels(suiteDoc)))
+            .orElse(null);
+
+        List<TestMetadata> tests = parsedClass.methods().stream()
+            .flatMap(method -> findAnnotation(method.annotations(), TEST_DOC)
+                .map(testDoc -> new TestMetadata(
+                    method.name(),
+                    description(testDoc),
+                    contact(testDoc),
+                    steps(testDoc, "steps"),
+                    labels(testDoc)))
+                .stream())
+            .toList();
+
+        return new ClassMetadata(parsedClass.className(), ClassMetadata.simpleNameOf(parsedClass.className()), suite, tests);
+    }
+
+    private static Optional<ClassFileParser.Annotation> findAnnotation(List<ClassFileParser.Annotation> annotations, String type) {
+        return annotations.stream().filter(annotation -> type.equals(annotation.type())).findFirst();
+    }
+
+    private static String description(ClassFileParser.Annotation annotation) {
+        ClassFileParser.Annotation desc = annotation.getAnnotation("description");
+        return desc == null ? "" : desc.getString("value", "");
+    }
+
+    private static ContactMetadata contact(ClassFileParser.Annotation annotation) {
+        ClassFileParser.Annotation contact = annotation.getAnnotation("contact");
+        if (contact == null) {
+            return ContactMetadata.EMPTY;
+        }
+        return new ContactMetadata(contact.getString("name", ""), contact.getString("email", ""));
+    }
+
+    private static List<StepMetadata> steps(ClassFileParser.Annotation annotation, String name) {
+        return annotation.getAnnotations(name).stream()
+            .map(step -> new StepMetadata(step.getString("value", ""), step.getString("expected", "")))
+            .toList();
+    }
+
+    private static List<String> labels(ClassFileParser.Annotation annotation) {
+        return annotation.getAnnotations("labels").stream()
+            .map(label -> label.getString("value", ""))
+            .toList();
+    }
+}
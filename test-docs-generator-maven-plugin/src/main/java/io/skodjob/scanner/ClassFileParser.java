@@ -0,0 +1,279 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal parser of the class file format (JVMS chapter 4), which reads only the name of the class and runtime
+ * visible annotations of the class and its methods. Everything else is skipped, the class is never loaded,
+ * so no static initializers are executed and no other classes have to be available.
+ */
+public class ClassFileParser {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final DataInputStream input;
+    // UTF-8 constants by their index, null for other constants
+    private String[] utf8;
+    // for CONSTANT_Class the index of its name, for other constants 0
+    private int[] classNames;
+
+    private ClassFileParser(byte[] classFile) {
+        this.input = new DataInputStream(new ByteArrayInputStream(classFile));
+    }
+
+    /**
+     * Parses the class file content
+     *
+     * @param classFile content of the class file
+     * @return parsed class with its annotations
+     * @throws IOException in case that the content is not a valid class file
+     */
+    public static ParsedClass parse(byte[] classFile) throws IOException {
+        return new ClassFileParser(classFile).parseClass();
+    }
+
+    private ParsedClass parseClass() throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        // minor and major version
+        input.skipBytes(4);
+
+        readConstantPool();
+
+        // access flags
+        input.skipBytes(2);
+        String className = utf8(classNames[input.readUnsignedShort()]).replace('/', '.');
+        // super class
+        input.skipBytes(2);
+        int interfaces = input.readUnsignedShort();
+        input.skipBytes(2 * interfaces);
+
+        int fields = input.readUnsignedShort();
+        for (int i = 0; i < fields; i++) {
+            // access flags, name and descriptor
+            input.skipBytes(6);
+            skipAttributes();
+        }
+
+        int methodCount = input.readUnsignedShort();
+        List<ParsedMethod> methods = new ArrayList<>(methodCount);
+        for (int i = 0; i < methodCount; i++) {
+            // access flags
+            input.skipBytes(2);
+            String name = utf8(input.readUnsignedShort());
+            String descriptor = utf8(input.readUnsignedShort());
+            methods.add(new ParsedMethod(name, descriptor, readAnnotationAttributes()));
+        }
+
+        return new ParsedClass(className, readAnnotationAttributes(), methods);
+    }
+
+    private void readConstantPool() throws IOException {
+        int count = input.readUnsignedShort();
+        utf8 = new String[count];
+        classNames = new int[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8 -> utf8[i] = input.readUTF();
+                case CONSTANT_CLASS -> classNames[i] = input.readUnsignedShort();
+                case CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> input.skipBytes(2);
+                case CONSTANT_METHOD_HANDLE -> input.skipBytes(3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELD_REF, CONSTANT_METHOD_REF, CONSTANT_INTERFACE_METHOD_REF,
+                     CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC, CONSTANT_INVOKE_DYNAMIC -> input.skipBytes(4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    input.skipBytes(8);
+                    // long and double constants take two entries in the constant pool
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    private void skipAttributes() throws IOException {
+        int attributes = input.readUnsignedShort();
+
+        for (int i = 0; i < attributes; i++) {
+            // attribute name
+            input.skipBytes(2);
+            input.skipNBytes(input.readInt());
+        }
+    }
+
+    /**
+     * Reads all attributes of the class or method, and returns annotations found in the
+     * RuntimeVisibleAnnotations attribute. Other attributes are skipped.
+     */
+    private List<Annotation> readAnnotationAttributes() throws IOException {
+        List<Annotation> annotations = new ArrayList<>();
+        int attributes = input.readUnsignedShort();
+
+        for (int i = 0; i < attributes; i++) {
+            String name = utf8(input.readUnsignedShort());
+            int length = input.readInt();
+
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                int count = input.readUnsignedShort();
+                for (int j = 0; j < count; j++) {
+                    annotations.add(readAnnotation());
+                }
+            } else {
+                input.skipNBytes(length);
+            }
+        }
+
+        return annotations;
+    }
+
+    private Annotation readAnnotation() throws IOException {
+        String type = descriptorToClassName(utf8(input.readUnsignedShort()));
+        int pairs = input.readUnsignedShort();
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (int i = 0; i < pairs; i++) {
+            String name = utf8(input.readUnsignedShort());
+            values.put(name, readElementValue());
+        }
+
+        return new Annotation(type, values);
+    }
+
+    /**
+     * Reads value of the annotation element. Strings, nested annotations, and arrays are returned as {@link String},
+     * {@link Annotation}, and {@link List}, other values (primitives, enums, classes) are not needed by the generator
+     * and are returned as null.
+     */
+    private Object readElementValue() throws IOException {
+        int tag = input.readUnsignedByte();
+
+        return switch (tag) {
+            case 's' -> utf8(input.readUnsignedShort());
+            case '@' -> readAnnotation();
+            case '[' -> {
+                int count = input.readUnsignedShort();
+                List<Object> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(readElementValue());
+                }
+                yield values;
+            }
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 'c' -> {
+                input.skipBytes(2);
+                yield null;
+            }
+            case 'e' -> {
+                input.skipBytes(4);
+                yield null;
+            }
+            default -> throw new IOException("Unknown annotation element tag " + (char) tag);
+        };
+    }
+
+    private String utf8(int index) throws IOException {
+        if (index <= 0 || index >= utf8.length || utf8[index] == null) {
+            throw new IOException("Invalid constant pool reference " + index);
+        }
+        return utf8[index];
+    }
+
+    private static String descriptorToClassName(String descriptor) {
+        // descriptor of annotation type is in format Lpath/to/Annotation;
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    /**
+     * Class read from the class file
+     *
+     * @param className   binary name of the class
+     * @param annotations runtime visible annotations of the class
+     * @param methods     all methods declared by the class
+     */
+    public record ParsedClass(String className, List<Annotation> annotations, List<ParsedMethod> methods) {
+    }
+
+    /**
+     * Method read from the class file
+     *
+     * @param name        name of the method
+     * @param descriptor  descriptor of the method parameters and return type
+     * @param annotations runtime visible annotations of the method
+     */
+    public record ParsedMethod(String name, String descriptor, List<Annotation> annotations) {
+    }
+
+    /**
+     * Annotation read from the class file. Only values explicitly set in the source code are present,
+     * default values of the annotation elements are not stored in the class file.
+     *
+     * @param type   fully qualified name of the annotation type
+     * @param values values of the annotation elements by their names
+     */
+    public record Annotation(String type, Map<String, Object> values) {
+
+        /**
+         * Returns String value of the element
+         *
+         * @param name         name of the element
+         * @param defaultValue value returned in case that the element is not present
+         * @return value of the element
+         */
+        public String getString(String name, String defaultValue) {
+            return values.get(name) instanceof String value ? value : defaultValue;
+        }
+
+        /**
+         * Returns value of the element containing nested annotation
+         *
+         * @param name name of the element
+         * @return nested annotation, or null in case that the element is not present
+         */
+        public Annotation getAnnotation(String name) {
+            return values.get(name) instanceof Annotation value ? value : null;
+        }
+
+        /**
+         * Returns value of the element containing array of nested annotations
+         *
+         * @param name name of the element
+         * @return list of nested annotations, empty in case that the element is not present
+         */
+        public List<Annotation> getAnnotations(String name) {
+            if (values.get(name) instanceof List<?> list) {
+                return list.stream().filter(Annotation.class::isInstance).map(Annotation.class::cast).toList();
+            }
+            return List.of();
+        }
+    }
+}
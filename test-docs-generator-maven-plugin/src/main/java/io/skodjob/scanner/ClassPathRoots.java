@@ -0,0 +1,135 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Roots of the compiled classes read by the scanners - either directories, or jar files (f.e. test-jar artifacts).
+ * Entries of the jar files are read directly through the zip central directory, without unpacking the jar files.
+ * Each jar file is opened once, on the first read, and it is shared by all threads.
+ */
+final class ClassPathRoots implements Closeable {
+
+    private final List<Path> roots;
+    private final Map<Integer, ZipFile> openedJars = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param roots directories and jar files, searched in the specified order
+     */
+    ClassPathRoots(List<Path> roots) {
+        this.roots = List.copyOf(roots);
+    }
+
+    /**
+     * Returns number of the roots
+     *
+     * @return number of the roots
+     */
+    int size() {
+        return roots.size();
+    }
+
+    /**
+     * Reads content of the file with the {@param name} inside the {@param root}
+     *
+     * @param root index of the root
+     * @param name path of the file inside the root, separated by {@code /}
+     * @return content of the file, or null in case that the file doesn't exist
+     * @throws IOException in case that the file cannot be read
+     */
+    byte[] read(int root, String name) throws IOException {
+        Path path = roots.get(root);
+        if (Files.isDirectory(path)) {
+            Path file = path.resolve(name);
+            return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+        }
+
+        ZipFile jar = openJar(root);
+        ZipEntry entry = jar == null ? null : jar.getEntry(name);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream input = jar.getInputStream(entry)) {
+            return input.readAllBytes();
+        }
+    }
+
+    /**
+     * Checks whether any of the roots contains at least one file inside the {@param directory}
+     *
+     * @param directory path of the directory inside the roots, separated by {@code /}
+     * @return true if the directory exists in any of the roots
+     * @throws IOException in case that any of the jar files cannot be opened
+     */
+    boolean containsDirectory(String directory) throws IOException {
+        for (int root = 0; root < roots.size(); root++) {
+            Path path = roots.get(root);
+            if (Files.isDirectory(path)) {
+                if (Files.isDirectory(path.resolve(directory))) {
+                    return true;
+                }
+            } else {
+                ZipFile jar = openJar(root);
+                if (jar != null && jar.stream().anyMatch(entry -> entry.getName().startsWith(directory + "/"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (ZipFile jar : openedJars.values()) {
+            try {
+                jar.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        openedJars.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Opens the jar file, or returns the already opened one
+     *
+     * @return opened jar file, or null in case that the root is neither directory nor file
+     */
+    private ZipFile openJar(int root) throws IOException {
+        if (!Files.isRegularFile(roots.get(root))) {
+            return null;
+        }
+
+        try {
+            return openedJars.computeIfAbsent(root, index -> {
+                try {
+                    return new ZipFile(roots.get(index).toFile());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
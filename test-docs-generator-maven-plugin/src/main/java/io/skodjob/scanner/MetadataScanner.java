@@ -0,0 +1,38 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.model.ClassMetadata;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Backend that reads {@link io.skodjob.annotations.SuiteDoc} and {@link io.skodjob.annotations.TestDoc} annotations
+ * of a test-class and turns them into the {@link ClassMetadata}.
+ * Implementations have to be safe to be used from multiple threads at once.
+ */
+public interface MetadataScanner extends Closeable {
+
+    /**
+     * Reads documentation of the test-class
+     *
+     * @param className fully qualified (binary) name of the test-class
+     * @return documentation of the test-class
+     * @throws ClassNotFoundException in case that the test-class cannot be found
+     * @throws IOException            during reading of the test-class
+     */
+    ClassMetadata scan(String className) throws ClassNotFoundException, IOException;
+
+    /**
+     * Releases resources held by the scanner
+     *
+     * @throws IOException during releasing of the resources
+     */
+    @Override
+    default void close() throws IOException {
+        // nothing to close by default
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.index.MetadataIndexReader;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.processor.MetadataProcessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Scanner reading the documentation written by {@link MetadataProcessor} during the compilation of the test-classes.
+ * Neither the class files are parsed, nor the test-classes are loaded, so no class path is needed.
+ * Test-class without the documentation file is considered as not documented, in case that its class file exists.
+ * The processor doesn't visit classes without the annotations, so documentation file of a class, which lost all of its
+ * annotations, is left from the previous compilation. Such stale file is recognized by the class file next to it,
+ * which doesn't refer any of the annotations anymore, and it is ignored.
+ * Both directories and jar files (f.e. test-jar artifacts) are supported.
+ */
+public class ProcessorScanner implements MetadataScanner {
+
+    private static final List<byte[]> ANNOTATION_DESCRIPTORS = Stream.of(SuiteDoc.class, TestDoc.class)
+        .map(annotation -> ("L" + annotation.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8))
+        .toList();
+
+    private final ClassPathRoots roots;
+
+    /**
+     * Constructor
+     *
+     * @param classDirectories directories or jar files with compiled classes, searched in the specified order
+     */
+    public ProcessorScanner(List<Path> classDirectories) {
+        this.roots = new ClassPathRoots(classDirectories);
+    }
+
+    @Override
+    public ClassMetadata scan(String className) throws ClassNotFoundException, IOException {
+        String metadataFile = MetadataProcessor.metadataFile(className);
+        String classFile = className.replace('.', '/') + ".class";
+
+        for (int root = 0; root < roots.size(); root++) {
+            byte[] classContent = roots.read(root, classFile);
+            if (classContent == null) {
+                continue;
+            }
+
+            byte[] content = isAnnotated(classContent) ? roots.read(root, metadataFile) : null;
+            if (content == null) {
+                return new ClassMetadata(className, ClassMetadata.simpleNameOf(className), null, List.of());
+            }
+
+            List<ClassMetadata> classes = MetadataIndexReader.read(ByteBuffer.wrap(content));
+            if (classes.size() != 1 || !className.equals(classes.get(0).className())) {
+                throw new IOException("File %s does not contain documentation of %s".formatted(metadataFile, className));
+            }
+            return classes.get(0);
+        }
+
+        throw new ClassNotFoundException(className);
+    }
+
+    /**
+     * Checks whether the constant pool of the class refers any of the documentation annotations. Class file without them
+     * cannot have any documentation, no matter whether its documentation file exists.
+     */
+    private static boolean isAnnotated(byte[] classContent) {
+        return ANNOTATION_DESCRIPTORS.stream().anyMatch(descriptor -> indexOf(classContent, descriptor) >= 0);
+    }
+
+    private static int indexOf(byte[] content, byte[] pattern) {
+        for (int i = 0; i <= content.length - pattern.length; i++) {
+            if (Arrays.equals(content, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        roots.close();
+    }
+
+    /**
+     * Checks whether the annotation processor wrote anything into any of the {@param classDirectories}
+     *
+     * @param classDirectories directories or jar files with compiled classes
+     * @return true if at least one of the directories contains documentation written by the processor
+     * @throws IOException in case that any of the jar files cannot be read
+     */
+    public static boolean isProcessed(List<Path> classDirectories) throws IOException {
+        try (ClassPathRoots roots = new ClassPathRoots(classDirectories)) {
+            return roots.containsDirectory(MetadataProcessor.METADATA_DIRECTORY);
+        }
+    }
+}
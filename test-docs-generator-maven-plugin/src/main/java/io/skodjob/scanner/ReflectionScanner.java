@@ -0,0 +1,199 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.annotations.Contact;
+import io.skodjob.annotations.Label;
+import io.skodjob.annotations.Step;
+import io.skodjob.annotations.SuiteDoc;
+import io.skodjob.annotations.TestDoc;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Scanner loading the test-classes using the class loader and reading their annotations using reflection.
+ * The test-classes, and everything they depend on, have to be available to the class loader.
+ * Test-classes can be loaded in batches, each batch by a new class loader, which is closed and dropped as soon as
+ * all test-classes of the batch are read, so classes of the previous batches can be unloaded and the Metaspace used
+ * by the scanner doesn't grow with the number of test-classes.
+ */
+public class ReflectionScanner implements MetadataScanner {
+
+    private final Supplier<? extends ClassLoader> loaderFactory;
+    private final int batchSize;
+    private Batch current;
+
+    /**
+     * Constructor
+     *
+     * @param loader class loader used for loading of the test-classes, it is closed together with the scanner
+     *               in case that it is {@link Closeable}
+     */
+    public ReflectionScanner(ClassLoader loader) {
+        this(() -> loader, Integer.MAX_VALUE);
+        this.current = new Batch(loader);
+    }
+
+    /**
+     * Creates scanner loading the test-classes in batches of {@param batchSize} classes
+     *
+     * @param loaderFactory creates new class loader for each batch, the class loader is closed once all test-classes
+     *                      of its batch are read, in case that it is {@link Closeable}
+     * @param batchSize     number of test-classes loaded by a single class loader
+     */
+    public ReflectionScanner(Supplier<? extends ClassLoader> loaderFactory, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size has to be positive, but it is %d".formatted(batchSize));
+        }
+        this.loaderFactory = loaderFactory;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ClassMetadata scan(String className) throws ClassNotFoundException, IOException {
+        Batch batch = acquire();
+        try {
+            // documentation doesn't reference the class anymore, so the class can be unloaded with its loader
+            return extract(batch.loader.loadClass(className));
+        } finally {
+            if (release(batch)) {
+                close(batch.loader);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Batch batch;
+        synchronized (this) {
+            batch = current;
+            current = null;
+        }
+
+        if (batch != null) {
+            close(batch.loader);
+        }
+    }
+
+    /**
+     * Returns batch for the next test-class, new batch is started when the current one has already enough test-classes
+     */
+    private synchronized Batch acquire() {
+        if (current == null || current.started == batchSize) {
+            if (current != null) {
+                current.retired = true;
+                if (current.active == 0) {
+                    closeQuietly(current.loader);
+                }
+            }
+            current = new Batch(loaderFactory.get());
+        }
+
+        current.started++;
+        current.active++;
+        return current;
+    }
+
+    /**
+     * Marks test-class of the {@param batch} as read
+     *
+     * @return true in case that it was the last test-class of the already retired batch, so its loader can be closed
+     */
+    private synchronized boolean release(Batch batch) {
+        batch.active--;
+        return batch.retired && batch.active == 0;
+    }
+
+    private static void close(ClassLoader loader) throws IOException {
+        if (loader instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static void closeQuietly(ClassLoader loader) {
+        try {
+            close(loader);
+        } catch (IOException e) {
+            // all classes of the batch are read already, the loader is dropped anyway
+        }
+    }
+
+    /**
+     * Reads documentation of the already loaded {@param testClass}
+     *
+     * @param testClass for which the documentation should be read
+     * @return documentation of the test-class
+     */
+    public static ClassMetadata extract(Class<?> testClass) {
+        SuiteDoc suiteDoc = testClass.getAnnotation(SuiteDoc.class);
+        SuiteMetadata suite = suiteDoc == null ? null : toSuite(suiteDoc);
+
+        List<TestMetadata> tests = Arrays.stream(testClass.getDeclaredMethods())
+            .filter(method -> method.getAnnotation(TestDoc.class) != null)
+            .map(method -> toTest(method.getName(), method.getAnnotation(TestDoc.class)))
+            .toList();
+
+        return new ClassMetadata(testClass.getName(), testClass.getSimpleName(), suite, tests);
+    }
+
+    /**
+     * Converts the {@param suiteDoc} annotation into the documentation of the test-suite
+     *
+     * @param suiteDoc annotation of the test-class
+     * @return documentation of the test-suite
+     */
+    public static SuiteMetadata toSuite(SuiteDoc suiteDoc) {
+        return new SuiteMetadata(suiteDoc.description().value(), toContact(suiteDoc.contact()),
+            toSteps(suiteDoc.beforeTestSteps()), toSteps(suiteDoc.afterTestSteps()), toLabels(suiteDoc.labels()));
+    }
+
+    /**
+     * Converts the {@param testDoc} annotation into the documentation of the test-case
+     *
+     * @param methodName name of the annotated test-method
+     * @param testDoc    annotation of the test-method
+     * @return documentation of the test-case
+     */
+    public static TestMetadata toTest(String methodName, TestDoc testDoc) {
+        return new TestMetadata(methodName, testDoc.description().value(), toContact(testDoc.contact()),
+            toSteps(testDoc.steps()), toLabels(testDoc.labels()));
+    }
+
+    private static ContactMetadata toContact(Contact contact) {
+        return new ContactMetadata(contact.name(), contact.email());
+    }
+
+    private static List<StepMetadata> toSteps(Step[] steps) {
+        return Arrays.stream(steps).map(step -> new StepMetadata(step.value(), step.expected())).toList();
+    }
+
+    private static List<String> toLabels(Label[] labels) {
+        return Arrays.stream(labels).map(Label::value).toList();
+    }
+
+    /**
+     * Class loader together with the number of test-classes, which were started and which are still being read by it
+     */
+    private static final class Batch {
+
+        private final ClassLoader loader;
+        private int started;
+        private int active;
+        private boolean retired;
+
+        private Batch(ClassLoader loader) {
+            this.loader = loader;
+        }
+    }
+}
@@ -10,12 +10,20 @@ import io.skodjob.annotations.Label;
 import io.skodjob.annotations.Step;
 import io.skodjob.annotations.SuiteDoc;
 import io.skodjob.annotations.TestDoc;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteResult;
+import io.skodjob.common.WriteStatistics;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -25,11 +33,43 @@ public class MdGeneratorTest {
     void testCreateTableOfSteps() throws IOException {
         String expectedFilePath = MdGeneratorTest.class.getClassLoader().getResource("expected-docs.md").getPath();
         String generatedFilePath = "target/io/test.md";
-        MdGenerator.generate(DummyTest.class, "", generatedFilePath);
+        MdGenerator.generate(DummyTest.class, "", generatedFilePath, new LabelIndex());
 
         assertThat(compareFiles(expectedFilePath, generatedFilePath), is(true));
     }
 
+    @Test
+    void testUpdateLinksInLabels(@TempDir Path docsDir) throws IOException {
+        Path labelsDir = Files.createDirectories(docsDir.resolve("labels"));
+        Path withMarker = labelsDir.resolve("default.md");
+        Path withoutMarker = labelsDir.resolve("regression.md");
+        Files.writeString(withMarker, "# Default\n\n<!-- generated part -->\n**Tests:**\n- [old](../old.md)\n");
+        Files.writeString(withoutMarker, "# Regression");
+
+        LabelIndex labelIndex = new LabelIndex();
+        labelIndex.add("default", "io.skodjob.FirstST", "testOne", docsDir + "/io/skodjob/FirstST.md");
+        labelIndex.add("regression", "io.skodjob.FirstST", "testOne", docsDir + "/io/skodjob/FirstST.md");
+        labelIndex.add("missing", "io.skodjob.FirstST", "testOne", docsDir + "/io/skodjob/FirstST.md");
+
+        String docsPath = docsDir + "/";
+        WriteStatistics statistics = new WriteStatistics();
+        Map<String, WriteResult> results = MdGenerator.updateLinksInLabels(docsPath, labelIndex, LabelDescriptions.load(docsPath + "labels"), statistics);
+
+        // results are reported in the order of labels, label without description file is skipped
+        assertThat(List.copyOf(results.keySet()), is(List.of(docsPath + "labels/default.md", docsPath + "labels/missing.md", docsPath + "labels/regression.md")));
+        assertThat(results.get(docsPath + "labels/missing.md"), is(WriteResult.EMPTY));
+
+        assertThat(Files.readString(withMarker), is("# Default\n\n<!-- generated part -->\n**Tests:**\n- [testOne](../io/skodjob/FirstST.md)\n"));
+        assertThat(Files.readString(withoutMarker), is("# Regression\n\n<!-- generated part -->\n**Tests:**\n- [testOne](../io/skodjob/FirstST.md)\n"));
+        assertThat(statistics.getWritten(), is(2));
+
+        // second update with the same tests doesn't write anything
+        statistics = new WriteStatistics();
+        MdGenerator.updateLinksInLabels(docsPath, labelIndex, LabelDescriptions.load(docsPath + "labels"), statistics);
+        assertThat(statistics.getWritten(), is(0));
+        assertThat(statistics.getUnchanged(), is(2));
+    }
+
     @SuiteDoc(
         description = @Desc("My test suite containing various tests"),
         beforeTestSteps = {
@@ -0,0 +1,76 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteResult;
+import io.skodjob.common.WriteStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SelectionGeneratorTest {
+
+    @Test
+    void testGenerateSelectionAndShards(@TempDir Path tempDir) throws IOException {
+        String docsPath = tempDir + "/";
+        LabelIndex labelIndex = new LabelIndex();
+        labelIndex.add("default", "io.skodjob.DummyTest", "testMethodOne", docsPath + "md/DummyTest.md");
+        labelIndex.add("default", "io.skodjob.DummyTest", "testMethodTwo", docsPath + "md/DummyTest.md");
+        labelIndex.add("default", "io.skodjob.Outer$InnerTest", "testMethodThree", docsPath + "md/InnerTest.md");
+        labelIndex.add("regression", "io.skodjob.DummyTest", "testMethodOne", docsPath + "md/DummyTest.md");
+        Path staleFile = Files.writeString(Files.createDirectories(tempDir.resolve("selection")).resolve("removed.txt"), "");
+        WriteStatistics statistics = new WriteStatistics();
+
+        Map<String, WriteResult> results = SelectionGenerator.generate(docsPath, labelIndex, 2, Map.of(), statistics);
+
+        assertThat(results.size(), is(6));
+        assertThat(Files.readString(tempDir.resolve("selection/default.txt")),
+            is("io.skodjob.DummyTest#testMethodOne\nio.skodjob.DummyTest#testMethodTwo\nio.skodjob.Outer$InnerTest#testMethodThree\n"));
+        assertThat(Files.readString(tempDir.resolve("selection/regression.txt")), is("io.skodjob.DummyTest#testMethodOne\n"));
+        assertThat(Files.readString(tempDir.resolve("selection/shards/default/shard-1.txt")),
+            is("io.skodjob.DummyTest#testMethodOne\nio.skodjob.Outer$InnerTest#testMethodThree\n"));
+        assertThat(Files.readString(tempDir.resolve("selection/shards/default/shard-2.txt")), is("io.skodjob.DummyTest#testMethodTwo\n"));
+        assertThat(Files.readString(tempDir.resolve("selection/shards/regression/shard-2.txt")), is(""));
+        assertThat(Files.exists(staleFile), is(false));
+        assertThat(statistics.getDeleted(), is(1));
+
+        results = SelectionGenerator.generate(docsPath, labelIndex, 2, Map.of(), statistics);
+        assertThat(results.values().stream().allMatch(result -> result == WriteResult.UNCHANGED), is(true));
+    }
+
+    @Test
+    void testShardsAreBalancedByWeights() {
+        List<String> tests = List.of("a.ATest#one", "a.ATest#two", "b.BTest#one", "b.BTest#two", "c.CTest#one");
+        Map<String, Double> weights = Map.of("a.ATest#one", 10.0, "b.BTest", 4.0, "c.CTest#one", 6.0);
+
+        // a.ATest#two without known weight gets the average weight (10 + 4 + 6) / 3
+        assertThat(SelectionGenerator.shard(tests, 2, weights), is(List.of(
+            List.of("a.ATest#one", "b.BTest#one"),
+            List.of("a.ATest#two", "b.BTest#two", "c.CTest#one"))));
+        assertThat(SelectionGenerator.shard(tests, 1, Map.of()), is(List.of(tests)));
+    }
+
+    @Test
+    void testLoadWeights(@TempDir Path tempDir) throws IOException {
+        Path weightsFile = Files.writeString(tempDir.resolve("weights.properties"),
+            "# durations in seconds\nio.skodjob.DummyTest#testMethodOne=12.5\nio.skodjob.DummyTest = 3\n");
+
+        assertThat(SelectionGenerator.loadWeights(weightsFile),
+            is(Map.of("io.skodjob.DummyTest#testMethodOne", 12.5, "io.skodjob.DummyTest", 3.0)));
+
+        Files.writeString(weightsFile, "io.skodjob.DummyTest=slow\n");
+        assertThrows(IOException.class, () -> SelectionGenerator.loadWeights(weightsFile));
+    }
+}
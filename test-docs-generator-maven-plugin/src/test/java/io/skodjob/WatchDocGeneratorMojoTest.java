@@ -0,0 +1,65 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob;
+
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WatchDocGeneratorMojoTest {
+
+    @Test
+    void testRemovedLastTestOfLabel(@TempDir Path docsDir) throws IOException {
+        Path labelsDir = Files.createDirectories(docsDir.resolve("labels"));
+        Path defaultLabel = labelsDir.resolve("default.md");
+        Path regressionLabel = labelsDir.resolve("regression.md");
+        Files.writeString(defaultLabel, "# Default\n\n<!-- generated part -->\n**Tests:**\n- [testOne](../io/skodjob/FirstST.md)\n");
+        Files.writeString(regressionLabel, "# Regression\n\n<!-- generated part -->\n**Tests:**\n- [testTwo](../io/skodjob/SecondST.md)\n");
+
+        LabelIndex labelIndex = new LabelIndex();
+        labelIndex.add("default", "io.skodjob.FirstST", "testOne", docsDir + "/io/skodjob/FirstST.md");
+        labelIndex.add("regression", "io.skodjob.SecondST", "testTwo", docsDir + "/io/skodjob/SecondST.md");
+
+        // the only test-case of the default label is removed together with its test-class
+        Set<String> labels = WatchDocGeneratorMojo.updateLabelIndex(labelIndex, Set.of("io.skodjob.FirstST"), new LabelIndex());
+        assertThat(List.copyOf(labels), is(List.of("default")));
+        assertThat(labelIndex.getLabels().containsKey("default"), is(false));
+
+        String docsPath = docsDir + "/";
+        WriteStatistics statistics = new WriteStatistics();
+        MdGenerator.updateLinksInLabels(docsPath, labelIndex, labels, LabelDescriptions.load(docsPath + "labels"), statistics);
+
+        assertThat(Files.readString(defaultLabel), is("# Default\n\n<!-- generated part -->\n**Tests:**\n"));
+        assertThat(Files.readString(regressionLabel), is("# Regression\n\n<!-- generated part -->\n**Tests:**\n- [testTwo](../io/skodjob/SecondST.md)\n"));
+        assertThat(statistics.getWritten(), is(1));
+    }
+
+    @Test
+    void testChangedTestMovedToOtherLabel() {
+        LabelIndex labelIndex = new LabelIndex();
+        labelIndex.add("default", "io.skodjob.FirstST", "testOne", "docs/io/skodjob/FirstST.md");
+        labelIndex.add("default", "io.skodjob.SecondST", "testTwo", "docs/io/skodjob/SecondST.md");
+
+        LabelIndex changedLabels = new LabelIndex();
+        changedLabels.add("regression", "io.skodjob.FirstST", "testOne", "docs/io/skodjob/FirstST.md");
+
+        Set<String> labels = WatchDocGeneratorMojo.updateLabelIndex(labelIndex, Set.of("io.skodjob.FirstST"), changedLabels);
+
+        assertThat(List.copyOf(labels), is(List.of("default", "regression")));
+        assertThat(labelIndex.getLabels().get("default").first().className(), is("io.skodjob.SecondST"));
+        assertThat(labelIndex.getLabels().get("regression").first().className(), is("io.skodjob.FirstST"));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedExecutorTest {
+
+    @Test
+    void testTasksInFlightAreLimited() throws InterruptedException, ExecutionException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger submitted = new AtomicInteger();
+
+        try (BoundedExecutor executor = new BoundedExecutor(2, 3)) {
+            for (int i = 0; i < 100; i++) {
+                executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    // the producer cannot be more than 3 tasks ahead of the finished ones
+                    assertThat(submitted.get() - finished.get() <= 3, is(true));
+                    running.decrementAndGet();
+                    finished.incrementAndGet();
+                });
+                submitted.incrementAndGet();
+            }
+            executor.awaitAll();
+        }
+
+        assertThat(finished.get(), is(100));
+        assertThat(maxRunning.get() <= 2, is(true));
+    }
+
+    @Test
+    void testFailureIsReported() {
+        BoundedExecutor executor = new BoundedExecutor(1, 1);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> {
+            executor.submit(() -> {
+                throw new IllegalStateException("failure");
+            });
+            executor.awaitAll();
+        });
+
+        assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+        executor.close();
+    }
+
+    @Test
+    void testCloseWaitsForInterruptedTasks() throws InterruptedException, ExecutionException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        try (BoundedExecutor executor = new BoundedExecutor(1, 1)) {
+            executor.submit(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    // the task still uses its resources for a while after the interruption
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                    finished.set(true);
+                }
+            });
+            started.await();
+        }
+
+        assertThat(finished.get(), is(true));
+    }
+}
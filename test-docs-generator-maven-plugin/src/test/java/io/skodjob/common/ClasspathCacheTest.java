@@ -0,0 +1,63 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClasspathCacheTest {
+
+    @Test
+    void testReadWrittenClasspath(@TempDir Path tempDir) throws IOException {
+        Path cacheFile = tempDir.resolve("cache/classpath.txt");
+        Path first = Files.writeString(tempDir.resolve("first.jar"), "first");
+        Path second = Files.writeString(tempDir.resolve("second.jar"), "second");
+
+        ClasspathCache.write(cacheFile, "key", List.of(first, second), Set.of());
+
+        assertThat(ClasspathCache.read(cacheFile, "key"), is(Optional.of(List.of(first, second))));
+        assertThat(ClasspathCache.read(cacheFile, "other-key"), is(Optional.empty()));
+    }
+
+    @Test
+    void testStaleClasspathIsNotUsed(@TempDir Path tempDir) throws IOException {
+        Path cacheFile = tempDir.resolve("classpath.txt");
+        Path jar = Files.writeString(tempDir.resolve("dependency.jar"), "dependency");
+
+        ClasspathCache.write(cacheFile, "key", List.of(jar), Set.of());
+        Files.delete(jar);
+
+        assertThat(ClasspathCache.read(cacheFile, "key"), is(Optional.empty()));
+        assertThat(ClasspathCache.read(tempDir.resolve("missing.txt"), "key"), is(Optional.empty()));
+    }
+
+    @Test
+    void testRebuiltSnapshotIsNotUsed(@TempDir Path tempDir) throws IOException {
+        Path cacheFile = tempDir.resolve("classpath.txt");
+        Path release = Files.writeString(tempDir.resolve("release-1.0.jar"), "release");
+        Path snapshot = Files.writeString(tempDir.resolve("snapshot-1.0-SNAPSHOT.jar"), "snapshot");
+        FileTime modified = Files.getLastModifiedTime(snapshot);
+
+        ClasspathCache.write(cacheFile, "key", List.of(release, snapshot), Set.of(snapshot));
+        assertThat(ClasspathCache.read(cacheFile, "key"), is(Optional.of(List.of(release, snapshot))));
+
+        Files.setLastModifiedTime(release, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertThat(ClasspathCache.read(cacheFile, "key"), is(Optional.of(List.of(release, snapshot))));
+
+        Files.setLastModifiedTime(snapshot, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertThat(ClasspathCache.read(cacheFile, "key"), is(Optional.empty()));
+    }
+}
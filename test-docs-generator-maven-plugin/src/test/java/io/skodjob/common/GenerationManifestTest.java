@@ -0,0 +1,75 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class GenerationManifestTest {
+
+    @Test
+    void testUnchangedClassIsReused(@TempDir Path tempDir) throws IOException {
+        Path manifestFile = tempDir.resolve("reuse.yaml");
+        Path docFile = tempDir.resolve("io.skodjob.DummyTest.md");
+        Files.writeString(docFile, "# DummyTest", StandardCharsets.UTF_8);
+
+        LabelIndex classLabels = new LabelIndex();
+        classLabels.add("regression", "io.skodjob.DummyTest", "testMethodOne", docFile.toString());
+
+        GenerationManifest manifest = GenerationManifest.load(manifestFile, "config");
+        manifest.record("io.skodjob.DummyTest", "hash", List.of(docFile.toString()), classLabels, false);
+        manifest.save(manifestFile);
+
+        GenerationManifest loaded = GenerationManifest.load(manifestFile, "config");
+        LabelIndex labelIndex = new LabelIndex();
+
+        assertThat(loaded.reuse("io.skodjob.DummyTest", "changed-hash", labelIndex), is(false));
+        assertThat(labelIndex.isEmpty(), is(true));
+
+        assertThat(loaded.reuse("io.skodjob.DummyTest", "hash", labelIndex), is(true));
+        assertThat(labelIndex.getLabels().get("regression").first().methodName(), is("testMethodOne"));
+
+        assertThat(loaded.getFilesOfRemovedClasses(Set.of("io.skodjob.DummyTest")).isEmpty(), is(true));
+        assertThat(loaded.getFilesOfRemovedClasses(Set.of()), is(Set.of(docFile.toString())));
+    }
+
+    @Test
+    void testDifferentConfigurationIsNotReused(@TempDir Path tempDir) throws IOException {
+        Path manifestFile = tempDir.resolve("configuration.yaml");
+
+        GenerationManifest manifest = GenerationManifest.load(manifestFile, "config");
+        manifest.record("io.skodjob.DummyTest", "hash", List.of(), new LabelIndex(), false);
+        manifest.save(manifestFile);
+
+        assertThat(GenerationManifest.load(manifestFile, "config").reuse("io.skodjob.DummyTest", "hash", new LabelIndex()), is(true));
+        assertThat(GenerationManifest.load(manifestFile, "other").reuse("io.skodjob.DummyTest", "hash", new LabelIndex()), is(false));
+    }
+
+    @Test
+    void testEmptyClassIsRecorded(@TempDir Path tempDir) throws IOException {
+        Path manifestFile = tempDir.resolve("empty.yaml");
+
+        GenerationManifest manifest = GenerationManifest.load(manifestFile, "config");
+        manifest.record("io.skodjob.UndocumentedTest", "hash", List.of(), new LabelIndex(), true);
+        manifest.record("io.skodjob.DummyTest", "hash", List.of(), new LabelIndex(), false);
+        manifest.save(manifestFile);
+
+        GenerationManifest loaded = GenerationManifest.load(manifestFile, "config");
+
+        assertThat(loaded.wasEmpty("io.skodjob.UndocumentedTest"), is(true));
+        assertThat(loaded.wasEmpty("io.skodjob.DummyTest"), is(false));
+        assertThat(loaded.wasEmpty("io.skodjob.MissingTest"), is(false));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class GenerationMetricsTest {
+
+    @Test
+    void testSlowestClasses() {
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.recordClass("io.skodjob.FastST", 1, 10);
+        metrics.recordClass("io.skodjob.SlowST", 20, 1_000);
+        metrics.recordClass("io.skodjob.MediumST", 5, 100);
+
+        assertThat(metrics.getGeneratedClasses(), is(3));
+        assertThat(metrics.getMethods(), is(26L));
+        assertThat(metrics.getSlowestClasses(2).stream().map(GenerationMetrics.ClassTiming::className).toList(),
+            is(List.of("io.skodjob.SlowST", "io.skodjob.MediumST")));
+    }
+
+    @Test
+    void testToJson() {
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.setClasses(2);
+        metrics.setLabels(3);
+        metrics.addBytesWritten(1024);
+        metrics.getWriteStatistics().record(WriteResult.WRITTEN);
+        metrics.recordClass("io.skodjob.\"Quoted\"ST", 4, 2_000_000);
+
+        String json = metrics.toJson(10);
+
+        assertThat(json, containsString("\"fileScanMillis\":0"));
+        assertThat(json, containsString("\"classes\":2,"));
+        assertThat(json, containsString("\"labels\":3,"));
+        assertThat(json, containsString("\"bytesWritten\":1024,"));
+        assertThat(json, containsString("\"filesWritten\":1,"));
+        assertThat(json, containsString("\"slowestClasses\":[{\"className\":\"io.skodjob.\\\"Quoted\\\"ST\",\"methods\":4,\"millis\":2}]"));
+    }
+}
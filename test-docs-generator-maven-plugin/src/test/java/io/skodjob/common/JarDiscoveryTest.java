@@ -0,0 +1,108 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JarDiscoveryTest {
+
+    @Test
+    void testWalkWithExcludesAndDepth(@TempDir Path tempDir) throws IOException {
+        Path root = tempDir.toAbsolutePath().normalize();
+        Path lib = createJar(root.resolve("lib/first.jar"), "first");
+        Path nested = createJar(root.resolve("lib/nested/second.jar"), "second");
+        createJar(root.resolve("lib/nested/deep/third.jar"), "third");
+        createJar(root.resolve("surefire-reports/report.jar"), "report");
+        Files.writeString(root.resolve("lib/notes.txt"), "notes");
+
+        JarDiscovery discovery = new JarDiscovery(JarDiscovery.DEFAULT_INCLUDES, JarDiscovery.DEFAULT_EXCLUDES, 2);
+        JarDiscovery.Listing listing = discovery.walk(List.of(root));
+
+        assertThat(listing.jars(), is(List.of(lib, nested)));
+        assertThat(listing.directories().containsKey(root.resolve("surefire-reports")), is(false));
+        assertThat(listing.directories().containsKey(root.resolve("lib/nested")), is(true));
+    }
+
+    @Test
+    void testIncludes(@TempDir Path tempDir) throws IOException {
+        Path root = tempDir.toAbsolutePath().normalize();
+        Path kept = createJar(root.resolve("lib/kept.jar"), "kept");
+        createJar(root.resolve("other/skipped.jar"), "skipped");
+
+        JarDiscovery discovery = new JarDiscovery(List.of("lib/*.jar"), List.of(), 10);
+
+        assertThat(discovery.walk(List.of(root)).jars(), is(List.of(kept)));
+    }
+
+    @Test
+    void testDefaultIncludesIgnoreCaseOfSuffix(@TempDir Path tempDir) throws IOException {
+        Path root = tempDir.toAbsolutePath().normalize();
+        Path lower = createJar(root.resolve("lib/lower.jar"), "lower");
+        Path upper = createJar(root.resolve("lib/upper.JAR"), "upper");
+        createJar(root.resolve("lib/other.jarx"), "other");
+
+        JarDiscovery discovery = new JarDiscovery(JarDiscovery.DEFAULT_INCLUDES, JarDiscovery.DEFAULT_EXCLUDES, 10);
+
+        assertThat(discovery.walk(List.of(root)).jars(), is(List.of(lower, upper)));
+    }
+
+    @Test
+    void testNullAndEmptyPatternsUseDefaults() {
+        String defaults = new JarDiscovery(JarDiscovery.DEFAULT_INCLUDES, JarDiscovery.DEFAULT_EXCLUDES, 10).configurationHash();
+
+        assertThat(new JarDiscovery(null, null, 10).configurationHash(), is(defaults));
+        assertThat(new JarDiscovery(List.of(), List.of(), 10).configurationHash(), is(defaults));
+        assertThat(new JarDiscovery(List.of("lib/*.jar"), null, 10).configurationHash().equals(defaults), is(false));
+        assertThat(new JarDiscovery(null, null, 0).configurationHash().equals(defaults), is(false));
+    }
+
+    @Test
+    void testDeduplicate(@TempDir Path tempDir) throws IOException {
+        Path first = createJar(tempDir.resolve("a/library-1.0.jar"), "content");
+        Path copy = createJar(tempDir.resolve("b/library-1.0.jar"), "content");
+        Path sameSize = createJar(tempDir.resolve("c/library-2.0.jar"), "CONTENT");
+        Path other = createJar(tempDir.resolve("d/other.jar"), "other content");
+
+        assertThat(JarDiscovery.deduplicate(List.of(first, copy, sameSize, other)), is(List.of(first, sameSize, other)));
+    }
+
+    @Test
+    void testCacheIsReusedUntilDirectoryChanges(@TempDir Path tempDir) throws IOException {
+        Path root = tempDir.resolve("target").toAbsolutePath().normalize();
+        Path cacheFile = tempDir.resolve("cache/library-classpath.txt");
+        Path first = createJar(root.resolve("lib/first.jar"), "first");
+        FileTime modified = Files.getLastModifiedTime(root.resolve("lib"));
+
+        JarDiscovery discovery = new JarDiscovery(JarDiscovery.DEFAULT_INCLUDES, JarDiscovery.DEFAULT_EXCLUDES, 10);
+        assertThat(discovery.discover(List.of(root), cacheFile), is(List.of(first)));
+
+        // directory looks unchanged, so the cached result is used
+        Path second = createJar(root.resolve("lib/second.jar"), "second");
+        Files.setLastModifiedTime(root.resolve("lib"), modified);
+        assertThat(discovery.discover(List.of(root), cacheFile), is(List.of(first)));
+
+        Files.setLastModifiedTime(root.resolve("lib"), FileTime.fromMillis(modified.toMillis() + 1000));
+        assertThat(discovery.discover(List.of(root), cacheFile), is(List.of(first, second)));
+
+        // different configuration doesn't use the same cache
+        JarDiscovery shallow = new JarDiscovery(JarDiscovery.DEFAULT_INCLUDES, JarDiscovery.DEFAULT_EXCLUDES, 0);
+        assertThat(shallow.discover(List.of(root), cacheFile), is(List.of()));
+    }
+
+    private static Path createJar(Path jar, String content) throws IOException {
+        Files.createDirectories(jar.getParent());
+        return Files.writeString(jar, content);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LabelDescriptionsTest {
+
+    @Test
+    void testLoadListsDescriptionFiles(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("regression.md"), "# Regression\n");
+        Files.writeString(tempDir.resolve("default.md"), "# Default\n");
+        Files.writeString(tempDir.resolve("notes.txt"), "not a description\n");
+
+        LabelDescriptions labelDescriptions = LabelDescriptions.load(tempDir.toString());
+
+        assertThat(List.copyOf(labelDescriptions.getLabels()), is(List.of("default", "regression")));
+        assertThat(labelDescriptions.hasDescription("default"), is(true));
+        assertThat(labelDescriptions.hasDescription("notes"), is(false));
+    }
+
+    @Test
+    void testLoadMissingDirectory(@TempDir Path tempDir) {
+        LabelDescriptions labelDescriptions = LabelDescriptions.load(tempDir.resolve("labels").toString());
+
+        assertThat(labelDescriptions.getLabels().isEmpty(), is(true));
+        assertThat(labelDescriptions.hasDescription("default"), is(false));
+    }
+}
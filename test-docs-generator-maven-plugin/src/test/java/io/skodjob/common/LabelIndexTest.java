@@ -0,0 +1,68 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LabelIndexTest {
+
+    @Test
+    void testTestsAreSortedByMethodAndPath() {
+        LabelIndex labelIndex = new LabelIndex();
+        labelIndex.add("regression", "io.skodjob.SecondTest", "testB", "docs/io.skodjob.SecondTest.md");
+        labelIndex.add("regression", "io.skodjob.FirstTest", "testB", "docs/io.skodjob.FirstTest.md");
+        labelIndex.add("default", "io.skodjob.FirstTest", "testA", "docs/io.skodjob.FirstTest.md");
+
+        assertThat(List.copyOf(labelIndex.getLabels().keySet()), is(List.of("default", "regression")));
+        assertThat(labelIndex.getLabels().get("regression").stream().map(LabelIndex.TestReference::className).toList(),
+            is(List.of("io.skodjob.FirstTest", "io.skodjob.SecondTest")));
+    }
+
+    @Test
+    void testConcurrentUpdates() {
+        LabelIndex labelIndex = new LabelIndex();
+
+        IntStream.range(0, 1000).parallel().forEach(i ->
+            labelIndex.add("label" + (i % 10), "io.skodjob.Test" + i, "test" + i, "docs/io.skodjob.Test" + i + ".md"));
+
+        assertThat(labelIndex.getLabels().size(), is(10));
+        assertThat(labelIndex.getLabels().values().stream().mapToInt(Set::size).sum(), is(1000));
+    }
+
+    @Test
+    void testRemoveClass() {
+        LabelIndex labelIndex = new LabelIndex();
+        labelIndex.add("regression", "io.skodjob.FirstTest", "testA", "docs/io.skodjob.FirstTest.md");
+        labelIndex.add("regression", "io.skodjob.SecondTest", "testB", "docs/io.skodjob.SecondTest.md");
+        labelIndex.add("default", "io.skodjob.FirstTest", "testA", "docs/io.skodjob.FirstTest.md");
+
+        assertThat(List.copyOf(labelIndex.removeClass("io.skodjob.FirstTest")), is(List.of("default", "regression")));
+        assertThat(List.copyOf(labelIndex.getLabels().keySet()), is(List.of("regression")));
+        assertThat(labelIndex.getLabels().get("regression").first().className(), is("io.skodjob.SecondTest"));
+        assertThat(labelIndex.removeClass("io.skodjob.FirstTest").isEmpty(), is(true));
+    }
+
+    @Test
+    void testRemoveClassConcurrentlyWithAdd() {
+        LabelIndex labelIndex = new LabelIndex();
+
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            // the only test-case of the label is removed, while test-case of another class is added to the same label
+            labelIndex.add("label" + (i % 10), "io.skodjob.Removed" + i, "test", "docs/io.skodjob.Removed" + i + ".md");
+            labelIndex.removeClass("io.skodjob.Removed" + i);
+            labelIndex.add("label" + (i % 10), "io.skodjob.Test" + i, "test" + i, "docs/io.skodjob.Test" + i + ".md");
+        });
+
+        assertThat(labelIndex.getLabels().size(), is(10));
+        assertThat(labelIndex.getLabels().values().stream().mapToInt(Set::size).sum(), is(1000));
+    }
+}
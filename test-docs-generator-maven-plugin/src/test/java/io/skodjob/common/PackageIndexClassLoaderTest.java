@@ -0,0 +1,121 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PackageIndexClassLoaderTest {
+
+    private static final String SAMPLE_CLASS = Sample.class.getName().replace('.', '/') + ".class";
+    private static final String SAMPLE_PACKAGE = "io/skodjob/common";
+
+    @Test
+    void testPackagesOf(@TempDir Path tempDir) throws IOException {
+        Path jar = createJar(tempDir.resolve("sample.jar"));
+
+        assertThat(PackageIndexClassLoader.packagesOf(jar), is(Set.of("", "META-INF", SAMPLE_PACKAGE)));
+    }
+
+    @Test
+    void testLoadOnlyFromJarWithPackage(@TempDir Path tempDir) throws Exception {
+        Path jar = createJar(tempDir.resolve("sample.jar"));
+        // broken jar would fail the loading in case that it is opened
+        Path broken = Files.writeString(tempDir.resolve("broken.jar"), "not a jar");
+        Map<Path, Set<String>> packages = Map.of(jar, PackageIndexClassLoader.packagesOf(jar), broken, Set.of("other/pkg"));
+
+        try (PackageIndexClassLoader loader = new PackageIndexClassLoader(List.of(broken, jar), packages, ClassLoader.getPlatformClassLoader())) {
+            Class<?> sample = loader.loadClass(Sample.class.getName());
+
+            assertThat(sample.getClassLoader(), is(loader));
+            assertThat(sample, not(Sample.class));
+            assertThat(sample.getPackage().getName(), is("io.skodjob.common"));
+            assertThat(sample.getProtectionDomain().getCodeSource().getLocation(), is(jar.toUri().toURL()));
+
+            URL resource = loader.getResource("root.txt");
+            assertThat(resource, notNullValue());
+            try (InputStream input = resource.openStream()) {
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8), is("root"));
+            }
+            assertThat(loader.getResource("other/pkg/missing.txt"), is(nullValue()));
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass("io.skodjob.common.Missing"));
+        }
+    }
+
+    @Test
+    void testDirectoryOnClassPath(@TempDir Path tempDir) throws Exception {
+        Path classes = tempDir.resolve("classes");
+        Files.createDirectories(classes.resolve(SAMPLE_PACKAGE));
+        Files.write(classes.resolve(SAMPLE_CLASS), sampleClass());
+
+        try (PackageIndexClassLoader loader = new PackageIndexClassLoader(List.of(classes), Map.of(), ClassLoader.getPlatformClassLoader())) {
+            assertThat(loader.loadClass(Sample.class.getName()).getClassLoader(), is(loader));
+        }
+    }
+
+    @Test
+    void testIndexIsCached(@TempDir Path tempDir) throws IOException {
+        Path jar = createJar(tempDir.resolve("sample.jar"));
+        Path cacheFile = tempDir.resolve("cache/package-index.txt");
+
+        Map<Path, Set<String>> packages = PackageIndexClassLoader.indexJars(List.of(jar), cacheFile);
+        assertThat(packages.get(jar), is(Set.of("", "META-INF", SAMPLE_PACKAGE)));
+
+        // content of the jar is not read again, as long as its size and modification time are the same
+        FileTime modified = Files.getLastModifiedTime(jar);
+        Files.write(jar, new byte[(int) Files.size(jar)]);
+        Files.setLastModifiedTime(jar, modified);
+        assertThat(PackageIndexClassLoader.indexJars(List.of(jar), cacheFile), is(packages));
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertThrows(IOException.class, () -> PackageIndexClassLoader.indexJars(List.of(jar), cacheFile));
+    }
+
+    private static Path createJar(Path jar) throws IOException {
+        try (OutputStream output = Files.newOutputStream(jar); JarOutputStream jarOutput = new JarOutputStream(output)) {
+            jarOutput.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            jarOutput.write("Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+            jarOutput.putNextEntry(new ZipEntry(SAMPLE_PACKAGE + "/"));
+            jarOutput.putNextEntry(new ZipEntry(SAMPLE_CLASS));
+            jarOutput.write(sampleClass());
+            jarOutput.putNextEntry(new ZipEntry("root.txt"));
+            jarOutput.write("root".getBytes(StandardCharsets.UTF_8));
+        }
+        return jar;
+    }
+
+    private static byte[] sampleClass() throws IOException {
+        try (InputStream input = PackageIndexClassLoaderTest.class.getClassLoader().getResourceAsStream(SAMPLE_CLASS)) {
+            return input.readAllBytes();
+        }
+    }
+
+    /**
+     * Class without any dependencies, which can be loaded by the tested class loader with platform class loader as parent
+     */
+    public static class Sample {
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UtilsTest {
+
+    @Test
+    void testParseThreadCount() {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        assertThat(Utils.parseThreadCount("4"), is(4));
+        assertThat(Utils.parseThreadCount(" 2 "), is(2));
+        assertThat(Utils.parseThreadCount(null), is(1));
+        assertThat(Utils.parseThreadCount("1C"), is(processors));
+        assertThat(Utils.parseThreadCount("2c"), is(2 * processors));
+        assertThat(Utils.parseThreadCount("0.01C"), is(1));
+    }
+
+    @Test
+    void testParseInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> Utils.parseThreadCount("0"));
+        assertThrows(IllegalArgumentException.class, () -> Utils.parseThreadCount("-1C"));
+        assertThrows(IllegalArgumentException.class, () -> Utils.parseThreadCount("many"));
+    }
+
+    @Test
+    void testGetTestClassesWithTheirPath(@TempDir Path tempDir) throws IOException {
+        Path testsPath = createSourceTree(tempDir);
+
+        Map<String, String> classes = Utils.getTestClassesWithTheirPath(testsPath.toString(), false);
+
+        assertThat(classes, is(Map.of(
+            "io.skodjob.FirstST", "io.skodjob.FirstST",
+            "io.skodjob.AbstractST", "io.skodjob.AbstractST",
+            "io.skodjob.upgrade.UpgradeST", "io.skodjob.upgrade.UpgradeST",
+            "io.skodjob.upgrade.deep.DeepST", "io.skodjob.upgrade.deep.DeepST")));
+    }
+
+    @Test
+    void testGetTestClassesWithTheirPathWithDirsAndExcludes(@TempDir Path tempDir) throws IOException {
+        Path testsPath = createSourceTree(tempDir);
+
+        Map<String, String> classes = Utils.getTestClassesWithTheirPath(testsPath.toString(), true, List.of("Abstract*.java", "upgrade/deep"));
+
+        assertThat(classes, is(Map.of(
+            "io/skodjob/FirstST", "io.skodjob.FirstST",
+            "io/skodjob/upgrade/UpgradeST", "io.skodjob.upgrade.UpgradeST")));
+    }
+
+    @Test
+    void testGetTestClassesFromJars(@TempDir Path tempDir) throws IOException {
+        Path first = createJar(tempDir.resolve("first-tests.jar"), "io/skodjob/FirstST.class", "io/skodjob/FirstST$Nested.class",
+            "io/skodjob/package-info.class", "io/skodjob/internal/HelperST.class", "io/skodjob/AbstractST.class", "META-INF/versions/11/io/skodjob/FirstST.class");
+        Path second = createJar(tempDir.resolve("second-tests.jar"), "io/skodjob/FirstST.class", "io/skodjob/other/SecondST.class");
+        List<String> excludes = List.of("**/AbstractST.java", "io/skodjob/internal");
+
+        assertThat(Utils.getTestClassesFromJars(List.of(first, second), true, excludes), is(Map.of(
+            "io/skodjob/FirstST", "io.skodjob.FirstST",
+            "io/skodjob/other/SecondST", "io.skodjob.other.SecondST")));
+        assertThat(Utils.getTestClassesFromJars(List.of(first), false, List.of()), is(Map.of(
+            "io.skodjob.FirstST", "io.skodjob.FirstST",
+            "io.skodjob.AbstractST", "io.skodjob.AbstractST",
+            "io.skodjob.internal.HelperST", "io.skodjob.internal.HelperST")));
+    }
+
+    @Test
+    void testWriteFile(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("io/skodjob/Test.md");
+
+        Utils.writeFile(file.toString(), "# Test\n\nPříliš žluťoučký kůň\n");
+        assertThat(Files.readString(file), is("# Test\n\nPříliš žluťoučký kůň\n"));
+
+        // shorter content has to truncate the previous one
+        Utils.writeFile(file.toString(), "# Test\n");
+        assertThat(Files.readString(file), is("# Test\n"));
+    }
+
+    @Test
+    void testWriteFileSkipsUnchangedContent(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("Test.md");
+
+        assertThat(Utils.writeFile(file.toString(), "# Test\n"), is(WriteResult.WRITTEN));
+        FileTime modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(file, modified);
+
+        assertThat(Utils.writeFile(file.toString(), "# Test\n"), is(WriteResult.UNCHANGED));
+        assertThat(Files.getLastModifiedTime(file), is(modified));
+
+        // same length, but different content
+        assertThat(Utils.writeFile(file.toString(), "# Tost\n"), is(WriteResult.WRITTEN));
+        assertThat(Files.readString(file), is("# Tost\n"));
+    }
+
+    @Test
+    void testRenderBufferIsReused() {
+        StringBuilder buffer = Utils.getRenderBuffer();
+        buffer.append("content");
+
+        assertThat(Utils.getRenderBuffer() == buffer, is(true));
+        assertThat(buffer.length(), is(0));
+    }
+
+    private static Path createSourceTree(Path tempDir) throws IOException {
+        Path testsPath = tempDir.resolve("src/test/java/io/skodjob");
+        Files.createDirectories(testsPath.resolve("upgrade/deep"));
+
+        for (String file : List.of("FirstST.java", "AbstractST.java", "package-info.java", "README.md",
+            "upgrade/UpgradeST.java", "upgrade/deep/DeepST.java")) {
+            Files.createFile(testsPath.resolve(file));
+        }
+
+        return testsPath;
+    }
+
+    private static Path createJar(Path jar, String... entries) throws IOException {
+        try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            for (String entry : entries) {
+                zipOutput.putNextEntry(new ZipEntry(entry));
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.index;
+
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.StepMetadata;
+import io.skodjob.model.SuiteMetadata;
+import io.skodjob.model.TestMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MetadataIndexTest {
+
+    private static final ContactMetadata CONTACT = new ContactMetadata("Jakub Stejskal", "ja@kub.io");
+    private static final List<ClassMetadata> CLASSES = List.of(
+        new ClassMetadata("io.skodjob.DummyTest", "DummyTest",
+            new SuiteMetadata("My \"test\" suite", CONTACT,
+                List.of(new StepMetadata("Deploy operator", "Operator is deployed")),
+                List.of(new StepMetadata("Delete operator", "Operator is deleted")),
+                List.of("regression")),
+            List.of(
+                new TestMetadata("testMethodOne", "Test checking that\nthe application works", CONTACT,
+                    List.of(new StepMetadata("Create object instance", "Instance of an object is created")),
+                    List.of("default", "regression")),
+                new TestMetadata("testMethodTwo", null, null, List.of(), List.of()))),
+        new ClassMetadata("io.skodjob.Outer$InnerTest", "InnerTest", null,
+            List.of(new TestMetadata("testMethodThree", "Žluťoučký kůň", ContactMetadata.EMPTY, List.of(), List.of("default")))));
+
+    @Test
+    void testBinaryIndexRoundTrip(@TempDir Path tempDir) throws IOException {
+        String indexFile = tempDir.resolve("index/" + MetadataIndexWriter.BINARY_FILE).toString();
+
+        assertThat(MetadataIndexWriter.writeBinary(CLASSES, indexFile), is(WriteResult.WRITTEN));
+        assertThat(MetadataIndexWriter.writeBinary(CLASSES, indexFile), is(WriteResult.UNCHANGED));
+        assertThat(MetadataIndexReader.read(Path.of(indexFile)), is(CLASSES));
+    }
+
+    @Test
+    void testBinaryIndexStoresStringsOnce() {
+        byte[] index = MetadataIndexWriter.toBinary(CLASSES);
+        byte[] duplicated = MetadataIndexWriter.toBinary(List.of(CLASSES.get(0), CLASSES.get(0)));
+
+        // second copy of the class adds only references to the already stored strings
+        assertThat(new String(duplicated, StandardCharsets.UTF_8).split("Deploy operator", -1).length, is(2));
+        assertThat(duplicated.length < 2 * index.length, is(true));
+    }
+
+    @Test
+    void testInvalidBinaryIndex() {
+        byte[] index = MetadataIndexWriter.toBinary(CLASSES);
+
+        assertThrows(IOException.class, () -> MetadataIndexReader.read(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+        assertThrows(IOException.class, () -> MetadataIndexReader.read(ByteBuffer.wrap(index, 0, index.length / 2)));
+    }
+
+    @Test
+    void testJsonIndex(@TempDir Path tempDir) throws IOException {
+        String indexFile = tempDir.resolve(MetadataIndexWriter.JSON_FILE).toString();
+
+        MetadataIndexWriter.writeJson(CLASSES, indexFile);
+        String json = Files.readString(Path.of(indexFile));
+
+        assertThat(json, containsString("{\"version\":1,\"classes\":[{\"className\":\"io.skodjob.DummyTest\",\"simpleName\":\"DummyTest\","
+            + "\"suite\":{\"description\":\"My \\\"test\\\" suite\",\"contact\":{\"name\":\"Jakub Stejskal\",\"email\":\"ja@kub.io\"},"));
+        assertThat(json, containsString("\"description\":\"Test checking that\\nthe application works\""));
+        assertThat(json, containsString("{\"methodName\":\"testMethodTwo\",\"description\":null,\"steps\":[],\"labels\":[]}"));
+        assertThat(json, containsString("\"labels\":[\"default\",\"regression\"]"));
+    }
+}
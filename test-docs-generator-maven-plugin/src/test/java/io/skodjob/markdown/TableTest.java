@@ -93,4 +93,19 @@ public class TableTest {
 
         assertThat(Table.createRow(item1, item2, item3), is(expectedRow));
     }
+
+    @Test
+    void testAppendTable() {
+        StringBuilder table = new StringBuilder("Steps:\n");
+
+        Table.appendHeader(table, List.of("Step", "Action"));
+        Table.appendRow(table, "1.", "Create object");
+        Table.appendRow(table, "2.", "Delete object");
+
+        assertThat(table.toString(), is("Steps:\n" +
+                "| Step | Action |\n" +
+                "| - | - |\n" +
+                "| 1. | Create object |\n" +
+                "| 2. | Delete object |\n"));
+    }
 }
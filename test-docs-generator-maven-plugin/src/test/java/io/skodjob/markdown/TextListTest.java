@@ -60,4 +60,15 @@ public class TextListTest {
         // Assertions
         assertThat(actualList, is(expectedList));
     }
+
+    @Test
+    void testAppendTextListWithItemRenderer() {
+        StringBuilder list = new StringBuilder("Labels:\n");
+
+        TextList.appendUnorderedList(list, List.of("default", "regression"), (out, label) -> out.append('`').append(label).append('`'));
+
+        assertThat(list.toString(), is("Labels:\n" +
+                "* `default`\n" +
+                "* `regression`\n"));
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.renderer;
+
+import io.skodjob.MdGeneratorTest;
+import io.skodjob.common.LabelDescriptions;
+import io.skodjob.common.LabelIndex;
+import io.skodjob.common.WriteResult;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.ContactMetadata;
+import io.skodjob.model.TestMetadata;
+import io.skodjob.scanner.ReflectionScanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DocRendererTest {
+
+    @Test
+    void testAllFormatsAreRenderedFromSingleMetadata(@TempDir Path docsDir) throws IOException {
+        String docsPath = docsDir + "/";
+        ClassMetadata testClass = ReflectionScanner.extract(MdGeneratorTest.DummyTest.class);
+        LabelIndex classLabels = new LabelIndex();
+        List<DocRenderer> renderers = List.of(new FmfRenderer(docsPath),
+            new MarkdownRenderer(docsPath, "md/", LabelDescriptions.load(docsPath + "labels")));
+
+        for (DocRenderer renderer : renderers) {
+            assertThat(renderer.render(testClass, "io/test", classLabels), is(WriteResult.WRITTEN));
+        }
+
+        assertThat(renderers.get(0).getFilePath("io/test"), is(docsPath + "fmf/io/test.fmf"));
+        assertThat(renderers.get(1).getFilePath("io/test"), is(docsPath + "md/io/test.md"));
+        assertThat(Files.readString(Path.of(docsPath + "fmf/io/test.fmf")),
+            is(Files.readString(Path.of(DocRendererTest.class.getClassLoader().getResource("expected-docs.fmf").getPath()))));
+        assertThat(Files.readString(Path.of(docsPath + "md/io/test.md")),
+            is(Files.readString(Path.of(DocRendererTest.class.getClassLoader().getResource("expected-docs.md").getPath()))));
+        assertThat(classLabels.isEmpty(), is(false));
+    }
+
+    @Test
+    void testTestsAreSortedInMetadata(@TempDir Path docsDir) throws IOException {
+        ClassMetadata testClass = new ClassMetadata("io.skodjob.SortedST", "SortedST", null,
+            Stream.of("testB", "testa", "testA").map(name -> new TestMetadata(name, "Test " + name, ContactMetadata.EMPTY, List.of(), List.of())).toList());
+
+        // case is ignored, method names differing only in the case are ordered case-sensitively
+        assertThat(testClass.tests().stream().map(TestMetadata::methodName).toList(), is(List.of("testA", "testa", "testB")));
+
+        // Markdown keeps the order of the metadata, the same as all other formats
+        String docsPath = docsDir + "/";
+        new MarkdownRenderer(docsPath, "md/", LabelDescriptions.load(docsPath + "labels")).render(testClass, "io/sorted", new LabelIndex());
+        String markdown = Files.readString(Path.of(docsPath + "md/io/sorted.md"));
+        assertThat(markdown.indexOf("## testA\n") < markdown.indexOf("## testa\n"), is(true));
+        assertThat(markdown.indexOf("## testa\n") < markdown.indexOf("## testB\n"), is(true));
+    }
+}
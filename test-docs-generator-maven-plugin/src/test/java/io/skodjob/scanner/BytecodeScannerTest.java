@@ -0,0 +1,91 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.MdGeneratorTest;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.model.TestMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BytecodeScannerTest {
+
+    @Test
+    void testBytecodeMatchesReflection() throws Exception {
+        ClassMetadata expected = ReflectionScanner.extract(MdGeneratorTest.DummyTest.class);
+
+        try (BytecodeScanner scanner = new BytecodeScanner(List.of(testClassesDirectory()))) {
+            ClassMetadata actual = scanner.scan(MdGeneratorTest.DummyTest.class.getName());
+
+            assertThat(actual.className(), is(expected.className()));
+            assertThat(actual.simpleName(), is("DummyTest"));
+            assertThat(actual.suite(), is(expected.suite()));
+            // order of methods returned by reflection is not specified
+            assertThat(sorted(actual.tests()), is(sorted(expected.tests())));
+        }
+    }
+
+    @Test
+    void testScanTestJar(@TempDir Path tempDir) throws Exception {
+        String classFile = MdGeneratorTest.DummyTest.class.getName().replace('.', '/') + ".class";
+        Path jar = tempDir.resolve("dummy-tests.jar");
+        try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            zipOutput.putNextEntry(new ZipEntry(classFile));
+            zipOutput.write(Files.readAllBytes(testClassesDirectory().resolve(classFile)));
+        }
+
+        try (BytecodeScanner jarScanner = new BytecodeScanner(List.of(tempDir.resolve("missing"), jar));
+             BytecodeScanner directoryScanner = new BytecodeScanner(List.of(testClassesDirectory()))) {
+            assertThat(jarScanner.scan(MdGeneratorTest.DummyTest.class.getName()),
+                is(directoryScanner.scan(MdGeneratorTest.DummyTest.class.getName())));
+            assertThrows(ClassNotFoundException.class, () -> jarScanner.scan("io.skodjob.NotExisting"));
+        }
+    }
+
+    @Test
+    void testClassWithoutDocumentation() throws Exception {
+        try (BytecodeScanner scanner = new BytecodeScanner(List.of(testClassesDirectory()))) {
+            ClassMetadata metadata = scanner.scan(BytecodeScannerTest.class.getName());
+
+            assertThat(metadata.suite(), is(nullValue()));
+            assertThat(metadata.isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    void testMissingClass() throws URISyntaxException {
+        BytecodeScanner scanner = new BytecodeScanner(List.of(testClassesDirectory()));
+
+        assertThrows(ClassNotFoundException.class, () -> scanner.scan("io.skodjob.NotExisting"));
+    }
+
+    @Test
+    void testInvalidClassFile() {
+        assertThrows(IOException.class, () -> BytecodeScanner.extract(new byte[] {1, 2, 3, 4}));
+    }
+
+    private static List<TestMetadata> sorted(List<TestMetadata> tests) {
+        return tests.stream().sorted(Comparator.comparing(TestMetadata::methodName)).toList();
+    }
+
+    private static Path testClassesDirectory() throws URISyntaxException {
+        return Path.of(BytecodeScannerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+}
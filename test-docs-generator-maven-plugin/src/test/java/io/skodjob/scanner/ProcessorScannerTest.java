@@ -0,0 +1,168 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.MdGeneratorTest;
+import io.skodjob.model.ClassMetadata;
+import io.skodjob.processor.MetadataProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ProcessorScannerTest {
+
+    private static final String DOCUMENTED = """
+        package io.skodjob.sample;
+
+        import io.skodjob.annotations.Desc;
+        import io.skodjob.annotations.Label;
+        import io.skodjob.annotations.Step;
+        import io.skodjob.annotations.SuiteDoc;
+        import io.skodjob.annotations.TestDoc;
+
+        @SuiteDoc(description = @Desc("My suite"), labels = {@Label("suite")})
+        public class SampleTest {
+            @TestDoc(description = @Desc("Second"), steps = {@Step(value = "Do it", expected = "Done")}, labels = {@Label("second")})
+            void testTwo() {
+            }
+
+            @TestDoc(description = @Desc("First"))
+            void testOne() {
+            }
+
+            static class NestedTest {
+                @TestDoc(description = @Desc("Nested"))
+                void testNested() {
+                }
+            }
+        }
+        """;
+
+    private static final String UNDOCUMENTED = """
+        package io.skodjob.sample;
+
+        public class SampleTest {
+            void testOne() {
+            }
+
+            static class NestedTest {
+            }
+        }
+        """;
+
+    @Test
+    void testProcessorMatchesBytecode(@TempDir Path tempDir) throws Exception {
+        Path classes = compile(tempDir, DOCUMENTED);
+
+        try (ProcessorScanner processorScanner = new ProcessorScanner(List.of(classes));
+             BytecodeScanner bytecodeScanner = new BytecodeScanner(List.of(classes))) {
+            for (String className : List.of("io.skodjob.sample.SampleTest", "io.skodjob.sample.SampleTest$NestedTest")) {
+                assertThat(processorScanner.scan(className), is(bytecodeScanner.scan(className)));
+            }
+        }
+        assertThat(ProcessorScanner.isProcessed(List.of(classes)), is(true));
+    }
+
+    @Test
+    void testRecompiledWithoutDocumentation(@TempDir Path tempDir) throws Exception {
+        compile(tempDir, DOCUMENTED);
+        Path classes = compile(tempDir, UNDOCUMENTED);
+
+        // classes without annotations are not visited by the processor, so the stale files are ignored by the scanner
+        assertThat(Files.exists(classes.resolve(MetadataProcessor.metadataFile("io.skodjob.sample.SampleTest"))), is(true));
+
+        try (ProcessorScanner scanner = new ProcessorScanner(List.of(classes))) {
+            for (String className : List.of("io.skodjob.sample.SampleTest", "io.skodjob.sample.SampleTest$NestedTest")) {
+                ClassMetadata metadata = scanner.scan(className);
+
+                assertThat(metadata.simpleName(), is(ClassMetadata.simpleNameOf(className)));
+                assertThat(metadata.isEmpty(), is(true));
+            }
+        }
+    }
+
+    @Test
+    void testOnlyAnnotatedClassesAreProcessed(@TempDir Path tempDir) throws Exception {
+        Path classes = compile(tempDir, UNDOCUMENTED);
+
+        assertThat(ProcessorScanner.isProcessed(List.of(classes)), is(false));
+    }
+
+    @Test
+    void testProcessedDuringBuild() throws Exception {
+        // the processor is enabled explicitly for the compilation of these tests
+        ClassMetadata expected = ReflectionScanner.extract(MdGeneratorTest.DummyTest.class);
+
+        try (ProcessorScanner scanner = new ProcessorScanner(List.of(testClassesDirectory()))) {
+            assertThat(scanner.scan(MdGeneratorTest.DummyTest.class.getName()), is(expected));
+        }
+    }
+
+    @Test
+    void testProcessedTestJar(@TempDir Path tempDir) throws Exception {
+        String className = MdGeneratorTest.DummyTest.class.getName();
+        String classFile = className.replace('.', '/') + ".class";
+        String metadataFile = MetadataProcessor.metadataFile(className);
+        Path jar = tempDir.resolve("dummy-tests.jar");
+        try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            for (String entry : List.of(classFile, metadataFile)) {
+                zipOutput.putNextEntry(new ZipEntry(entry));
+                zipOutput.write(Files.readAllBytes(testClassesDirectory().resolve(entry)));
+            }
+        }
+
+        assertThat(ProcessorScanner.isProcessed(List.of(tempDir.resolve("missing"), jar)), is(true));
+        try (ProcessorScanner scanner = new ProcessorScanner(List.of(jar))) {
+            assertThat(scanner.scan(className), is(ReflectionScanner.extract(MdGeneratorTest.DummyTest.class)));
+        }
+    }
+
+    @Test
+    void testMissingClass(@TempDir Path tempDir) throws IOException {
+        try (ProcessorScanner scanner = new ProcessorScanner(List.of(tempDir))) {
+            assertThrows(ClassNotFoundException.class, () -> scanner.scan("io.skodjob.NotExisting"));
+        }
+        assertThat(ProcessorScanner.isProcessed(List.of(tempDir)), is(false));
+    }
+
+    private static Path compile(Path tempDir, String source) throws IOException {
+        Path sourceFile = tempDir.resolve("src/io/skodjob/sample/SampleTest.java");
+        Path classes = tempDir.resolve("classes");
+        Files.createDirectories(sourceFile.getParent());
+        Files.createDirectories(classes);
+        Files.writeString(sourceFile, source);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                List.of("-d", classes.toString(), "-classpath", System.getProperty("java.class.path")), null,
+                fileManager.getJavaFileObjects(sourceFile));
+            task.setProcessors(List.of(new MetadataProcessor()));
+
+            assertThat(task.call(), is(true));
+        }
+
+        return classes;
+    }
+
+    private static Path testClassesDirectory() throws URISyntaxException {
+        return Path.of(ProcessorScannerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+}
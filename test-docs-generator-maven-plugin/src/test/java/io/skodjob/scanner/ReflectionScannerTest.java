@@ -0,0 +1,73 @@
+/*
+ * Copyright Skodjob authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.skodjob.scanner;
+
+import io.skodjob.MdGeneratorTest;
+import io.skodjob.model.ClassMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReflectionScannerTest {
+
+    @Test
+    void testBatchesUseNewClassLoaders() throws Exception {
+        List<TrackingLoader> loaders = new ArrayList<>();
+        ClassMetadata expected = ReflectionScanner.extract(MdGeneratorTest.DummyTest.class);
+
+        try (ReflectionScanner scanner = new ReflectionScanner(() -> {
+            TrackingLoader loader = new TrackingLoader();
+            loaders.add(loader);
+            return loader;
+        }, 2)) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(scanner.scan(MdGeneratorTest.DummyTest.class.getName()), is(expected));
+            }
+
+            assertThat(loaders.size(), is(3));
+            // loaders of the finished batches are closed, the current one is still open
+            assertThat(loaders.stream().map(loader -> loader.closed).toList(), is(List.of(true, true, false)));
+        }
+
+        assertThat(loaders.get(2).closed, is(true));
+    }
+
+    @Test
+    void testSingleClassLoaderIsClosedWithScanner() throws Exception {
+        TrackingLoader loader = new TrackingLoader();
+
+        try (ReflectionScanner scanner = new ReflectionScanner(loader)) {
+            assertThrows(ClassNotFoundException.class, () -> scanner.scan("io.skodjob.NotExisting"));
+            assertThat(loader.closed, is(false));
+        }
+
+        assertThat(loader.closed, is(true));
+    }
+
+    @Test
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ReflectionScanner(TrackingLoader::new, 0));
+    }
+
+    private static class TrackingLoader extends ClassLoader implements Closeable {
+
+        private boolean closed;
+
+        TrackingLoader() {
+            super(ReflectionScannerTest.class.getClassLoader());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}